@@ -0,0 +1,59 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberQueryRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대시보드 한 화면 분량의 검색 - 조건마다 쿼리 (N번) vs UNION ALL 한번 (searchAll)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class BatchSearchBenchmark {
+
+    @Param({"10", "50"})
+    public int conditionCount;
+
+    private List<MemberSearchCondition> conditions;
+
+    @Setup
+    public void setUp() {
+        conditions = new ArrayList<>();
+        for (int i = 0; i < conditionCount; i++) {
+            MemberSearchCondition condition = new MemberSearchCondition();
+            condition.setTeamName("team" + (i % JpaBenchmarkState.TEAM_COUNT));
+            condition.setAgeGoe(i % 90);
+            condition.setAgeLoe(i % 90 + 5);
+            conditions.add(condition);
+        }
+    }
+
+    @Benchmark
+    public List<List<MemberTeamDto>> sequential(JpaBenchmarkState state) {
+        MemberQueryRepository repository = state.bean(MemberQueryRepository.class);
+        List<List<MemberTeamDto>> result = new ArrayList<>(conditions.size());
+        for (MemberSearchCondition condition : conditions) {
+            result.add(state.inReadOnlyTx(() -> repository.search(condition))); // 요청마다 따로
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<List<MemberTeamDto>> unionAll(JpaBenchmarkState state) {
+        MemberQueryRepository repository = state.bean(MemberQueryRepository.class);
+        return state.inReadOnlyTx(() -> repository.searchAll(conditions));
+    }
+}
@@ -0,0 +1,80 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.repository.MemberJpaRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시 요청이 많을 때 요청당 스레드 모델 비교 (초당 처리한 요청 묶음 수)
+ * - platform: 톰캣 기본값과 같은 200 개 플랫폼 스레드 풀
+ * - virtual: 요청마다 가상 스레드 (java 21 필요, ./gradlew jmh -PvirtualThreads -PjmhIncludes=ConcurrencyBenchmark)
+ * 한번에 concurrency 개의 검색을 동시에 던지고 전부 끝날 때까지 기다림. 둘 다 커넥션 풀(10) 에서 줄을 선다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ConcurrencyBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"1000"})
+    public int concurrency;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if ("virtual".equals(threads)) {
+            // VirtualThreadConfig 와 같이 캐리어 스레드를 커넥션 풀(10) 보다 많게 -> pinning 되어도 멈추지 않음
+            System.setProperty("jdk.virtualThreadScheduler.parallelism",
+                    String.valueOf(Math.max(Runtime.getRuntime().availableProcessors(), 12)));
+            // java 11 로도 컴파일되도록 리플렉션 (java 21 미만이면 여기서 실패)
+            executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } else {
+            executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int search(JpaBenchmarkState state) throws Exception {
+        MemberJpaRepository repository = state.bean(MemberJpaRepository.class);
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("team3");
+        condition.setAgeGoe(20);
+        condition.setAgeLoe(40);
+
+        List<Future<Integer>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(executor.submit(() -> repository.search(condition).size()));
+        }
+        int rows = 0;
+        for (Future<Integer> future : futures) {
+            rows += future.get();
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,50 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+import study.querydsl.entity.Member;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * member.team 접근: 지연로딩(N+1) vs 페치조인 (QuerydslBasicTest fechJoinNo / fechJoinUse)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FetchJoinBenchmark {
+
+    private static final int LIMIT = 200;
+
+    @Benchmark
+    public void lazyTeam(JpaBenchmarkState state, Blackhole blackhole) {
+        state.inReadOnlyTx(() -> {
+            List<Member> members = new JPAQueryFactory(state.em)
+                    .selectFrom(member)
+                    .limit(LIMIT)
+                    .fetch();
+            members.forEach(m -> blackhole.consume(m.getTeam().getName()));
+            return null;
+        });
+    }
+
+    @Benchmark
+    public void fetchJoinTeam(JpaBenchmarkState state, Blackhole blackhole) {
+        state.inReadOnlyTx(() -> {
+            List<Member> members = new JPAQueryFactory(state.em)
+                    .selectFrom(member)
+                    .join(member.team, team).fetchJoin()
+                    .limit(LIMIT)
+                    .fetch();
+            members.forEach(m -> blackhole.consume(m.getTeam().getName()));
+            return null;
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberRepositoryImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리포지토리 검색 경로 비교
+ * - MemberJpaRepository: where 파라미터(search) vs BooleanBuilder(searchByBuilder)
+ * - MemberRepositoryImpl: JPAQueryFactory(searchPageSimple) vs QuerydslRepositorySupport(searchPageSimple2)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberSearchBenchmark {
+
+    private static final PageRequest PAGE = PageRequest.of(2, 20);
+
+    private static MemberSearchCondition condition() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("team3");
+        condition.setAgeGoe(20);
+        condition.setAgeLoe(40);
+        return condition;
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> search(JpaBenchmarkState state) {
+        MemberJpaRepository repository = state.bean(MemberJpaRepository.class);
+        return state.inReadOnlyTx(() -> repository.search(condition()));
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> searchByBuilder(JpaBenchmarkState state) {
+        MemberJpaRepository repository = state.bean(MemberJpaRepository.class);
+        return state.inReadOnlyTx(() -> repository.searchByBuilder(condition()));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> searchPageSimple_queryFactory(JpaBenchmarkState state) {
+        MemberRepositoryImpl repository = state.bean(MemberRepositoryImpl.class);
+        return state.inReadOnlyTx(() -> repository.searchPageSimple(condition(), PAGE));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> searchPageSimple_repositorySupport(JpaBenchmarkState state) {
+        MemberRepositoryImpl repository = state.bean(MemberRepositoryImpl.class);
+        return state.inReadOnlyTx(() -> repository.searchPageSimple2(condition(), PAGE));
+    }
+}
@@ -0,0 +1,86 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * DTO 조회 방식 비교: Projections.bean / fields / constructor vs @QueryProjection(QMemberTeamDto)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectionBenchmark {
+
+    private static final int LIMIT = 500;
+
+    @Benchmark
+    public List<MemberTeamDto> bean(JpaBenchmarkState state) {
+        return state.inReadOnlyTx(() -> new JPAQueryFactory(state.em)
+                .select(Projections.bean(MemberTeamDto.class,
+                        member.id.as("memberID"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")))
+                .from(member)
+                .leftJoin(member.team, team)
+                .limit(LIMIT)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> fields(JpaBenchmarkState state) {
+        return state.inReadOnlyTx(() -> new JPAQueryFactory(state.em)
+                .select(Projections.fields(MemberTeamDto.class,
+                        member.id.as("memberID"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")))
+                .from(member)
+                .leftJoin(member.team, team)
+                .limit(LIMIT)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> constructor(JpaBenchmarkState state) {
+        return state.inReadOnlyTx(() -> new JPAQueryFactory(state.em)
+                .select(Projections.constructor(MemberTeamDto.class,
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .limit(LIMIT)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> queryProjection(JpaBenchmarkState state) {
+        return state.inReadOnlyTx(() -> new JPAQueryFactory(state.em)
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .limit(LIMIT)
+                .fetch());
+    }
+}
@@ -0,0 +1,42 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberQueryRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 DTO 검색 - JPA(querydsl-jpa -> JPQL -> hibernate) vs querydsl-sql (SQL 직접)
+ * 조건이 넓을수록(row 가 많을수록) hibernate 결과 처리 비용 차이가 커짐
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QuerydslSqlBenchmark {
+
+    private static MemberSearchCondition condition() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("team3");
+        condition.setAgeGoe(20);
+        condition.setAgeLoe(40);
+        return condition;
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> jpa(JpaBenchmarkState state) {
+        MemberJpaRepository repository = state.bean(MemberJpaRepository.class);
+        return state.inReadOnlyTx(() -> repository.searchByBuilder(condition()));
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> sql(JpaBenchmarkState state) {
+        MemberQueryRepository repository = state.bean(MemberQueryRepository.class);
+        return state.inReadOnlyTx(() -> repository.search(condition()));
+    }
+}
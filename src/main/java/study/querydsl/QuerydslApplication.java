@@ -4,6 +4,8 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import study.querydsl.monitoring.InstrumentedJPAQueryFactory;
+import study.querydsl.monitoring.QueryMetrics;
 
 import javax.persistence.EntityManager;
 
@@ -14,9 +16,10 @@ public class QuerydslApplication {
 		SpringApplication.run(QuerydslApplication.class, args);
 	}
 
-//	@Bean
-//	JPAQueryFactory jpaQueryFactory(EntityManager em) {
-//		return new JPAQueryFactory(em);
-//	}
+	// 모든 리포지토리가 이 빈 하나를 주입받아 사용 -> querydsl 쿼리 실행 시간/row 수/JPQL 길이 메트릭
+	@Bean
+	JPAQueryFactory jpaQueryFactory(EntityManager em, QueryMetrics queryMetrics) {
+		return new InstrumentedJPAQueryFactory(em, queryMetrics);
+	}
 
 }
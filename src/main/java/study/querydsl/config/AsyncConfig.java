@@ -0,0 +1,73 @@
+package study.querydsl.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+// 가상 스레드 모드에서는 같은 이름의 빈을 VirtualThreadConfig (src/main/java21) 가 등록
+@Configuration
+@ConditionalOnProperty(name = "querydsl.virtual-threads.enabled", havingValue = "false", matchIfMissing = true)
+public class AsyncConfig {
+
+    // 아래 풀들이 Executor 빈이라 부트의 applicationTaskExecutor 가 만들어지지 않음 (@ConditionalOnMissingBean(Executor.class))
+    // -> MVC 비동기 처리(Flux / Callable 응답)와 @Async 가 SimpleAsyncTaskExecutor 로 빠지지 않도록 직접 등록
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build(); // spring.task.execution.* 설정 그대로
+    }
+
+    // 페이징 count 쿼리 병렬 실행용 - 크기를 제한해서 커넥션 풀을 다 잡아먹지 않게
+    @Bean
+    public ThreadPoolTaskExecutor pageCountExecutor(@Value("${querydsl.page.concurrent-count.pool-size:4}") int poolSize,
+                                                    @Value("${querydsl.page.concurrent-count.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("page-count-");
+        return executor;
+    }
+
+    // 검색 결과 캐시 refresh-ahead 용 - 큐가 꽉 차면 요청 스레드에서 직접 refresh
+    @Bean
+    public ThreadPoolTaskExecutor searchRefreshExecutor(@Value("${querydsl.search-cache.refresh-pool-size:2}") int poolSize,
+                                                        @Value("${querydsl.search-cache.refresh-queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("search-refresh-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    // 느린 쿼리 EXPLAIN 용 - 스레드 하나, 대기열이 꽉 차면 계획 없이 기록 (SlowQueryLog)
+    @Bean
+    public ThreadPoolTaskExecutor slowQueryExplainExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("slow-query-explain-");
+        return executor;
+    }
+
+    // 청크 벌크 연산 병렬 실행용 (BulkOperationService) - 청크마다 커넥션을 하나씩 잡으므로 작게
+    @Bean
+    public ThreadPoolTaskExecutor bulkExecutor(@Value("${querydsl.bulk.max-parallelism:4}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(poolSize);
+        executor.setThreadNamePrefix("bulk-");
+        return executor;
+    }
+}
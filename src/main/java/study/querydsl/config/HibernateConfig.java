@@ -0,0 +1,17 @@
+package study.querydsl.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.querydsl.repository.support.TableChangeInspector;
+
+@Configuration
+public class HibernateConfig {
+
+    // 클래스 이름으로 등록하면 hibernate 가 직접 생성해서 스프링 빈 주입이 안됨 -> 인스턴스로 등록
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(TableChangeInspector tableChangeInspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, tableChangeInspector);
+    }
+}
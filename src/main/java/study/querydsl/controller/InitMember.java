@@ -4,12 +4,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import study.querydsl.entity.Member;
+import study.querydsl.dto.MemberIngestRow;
 import study.querydsl.entity.Team;
+import study.querydsl.service.MemberBulkIngestService;
 
 import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.stream.IntStream;
 
 @Profile("local")
 @Component
@@ -24,9 +26,11 @@ public class InitMember {
     }
 
     @Component
+    @RequiredArgsConstructor
     static class InitMemberService {
         @PersistenceContext
         private EntityManager em;
+        private final MemberBulkIngestService memberBulkIngestService;
 
         @Transactional// postconstruct에 바로 넣으면 안되나? -> 스프링 라이프 사이클 때문에 트랙잭셔널과 포스트컨스트럭트 같이 안됨
         public void init() {
@@ -35,10 +39,9 @@ public class InitMember {
             em.persist(teamA);
             em.persist(teamB);
 
-            for (int i = 0; i < 100; i++) {
-                Team selectedTeam = i % 2 == 0 ? teamA : teamB;
-                em.persist(new Member("member" + i, i, selectedTeam));
-            }
+            // 한건씩 persist 하지 않고 배치 insert
+            memberBulkIngestService.saveAll(IntStream.range(0, 100)
+                    .mapToObj(i -> new MemberIngestRow("member" + i, i, i % 2 == 0 ? teamA.getId() : teamB.getId())));
         }
 
     }
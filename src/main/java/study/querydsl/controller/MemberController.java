@@ -3,25 +3,127 @@ package study.querydsl.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.ThroughputReport;
 import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberQueryRepository;
+import study.querydsl.repository.MemberReactiveRepository;
 import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.MemberSearchCache;
+import study.querydsl.repository.support.KeysetCursor;
+import study.querydsl.repository.support.KeysetPage;
+import study.querydsl.service.MemberCsvImportService;
+import study.querydsl.service.MemberExportService;
+import study.querydsl.service.MemberStreamService;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_PAGE_SIZE = 2000; // spring.data.web.pageable.max-page-size 와 동일
+    private static final int MAX_BATCH_CONDITIONS = 50;
+
     private final MemberJpaRepository memberJpaRepository;
     private final MemberRepository memberRepository;
+    private final MemberStreamService memberStreamService;
+    private final MemberExportService memberExportService;
+    private final MemberCsvImportService memberCsvImportService;
+    private final MemberSearchCache memberSearchCache;
+    private final MemberReactiveRepository memberReactiveRepository;
+    private final MemberQueryRepository memberQueryRepository;
 
     @GetMapping("v1/members")
     public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
-        return memberJpaRepository.search(condition);
+        return memberSearchCache.search(condition); // 자주 쓰이는 조건은 캐시 (member/team 변경 시 무효화)
+    }
+
+    // 화면 하나에 필요한 검색 여러 개를 요청 한번 + 쿼리 한번(UNION ALL)으로, 결과는 조건 순서대로
+    @PostMapping("v1/members/batch")
+    public List<List<MemberTeamDto>> searchMemberV1Batch(@RequestBody List<MemberSearchCondition> conditions) {
+        if (conditions.size() > MAX_BATCH_CONDITIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "too many conditions: " + conditions.size() + " > " + MAX_BATCH_CONDITIONS);
+        }
+        if (conditions.contains(null)) { // [{}, null] 같은 본문 -> 500 이 아니라 400
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "null condition at index " + conditions.indexOf(null));
+        }
+        return memberQueryRepository.searchAll(conditions);
+    }
+
+    // v1 과 같은 검색이지만 한 건씩 NDJSON 으로 흘려보냄 (결과가 커도 힙에 모으지 않음)
+    @GetMapping("v1/members/stream")
+    public void searchMemberV1Stream(MemberSearchCondition condition, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        memberStreamService.writeNdjson(condition, response.getOutputStream());
+    }
+
+    // 대량 export - CSV 를 gzip 으로 압축하면서 바로 내려보냄 (결과를 모으지 않음)
+    @GetMapping("v1/members/export")
+    public void exportMemberV1(MemberSearchCondition condition, HttpServletResponse response) throws IOException {
+        response.setContentType("text/csv");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"members.csv\"");
+        memberExportService.writeCsvGzip(condition, response.getOutputStream());
+    }
+
+    // CSV(username,age,teamName) 대량 import - 본문을 임시 파일로 받아서 DB 가 직접 읽음 (CSVREAD)
+    // querydsl.csv-import.max-size 를 넘으면 413 (Content-Length 가 없는 chunked 본문은 받으면서 확인)
+    @PostMapping(value = "v1/members/import", consumes = "text/csv")
+    public ThroughputReport importMemberV1(HttpServletRequest request) throws IOException {
+        long maxBytes = memberCsvImportService.getMaxBytes();
+        if (request.getContentLengthLong() > maxBytes) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "csv larger than " + maxBytes + " bytes");
+        }
+        Path file = Files.createTempFile("members", ".csv");
+        try {
+            copyAtMost(request.getInputStream(), file, maxBytes);
+            return memberCsvImportService.importCsv(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void copyAtMost(InputStream in, Path file, long maxBytes) throws IOException {
+        byte[] buffer = new byte[8192];
+        long copied = 0;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                copied += read;
+                if (copied > maxBytes) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "csv larger than " + maxBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    // 논블로킹 조회 (R2DBC) - 응답을 기다리는 동안 요청 스레드를 잡고 있지 않고, 클라이언트가 읽는 만큼만 DB 에서 읽음
+    @GetMapping(value = "v1/members/reactive", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MemberTeamDto> searchMemberV1Reactive(MemberSearchCondition condition) {
+        return memberReactiveRepository.search(condition);
     }
 
     @GetMapping("v2/members")
@@ -33,4 +135,20 @@ public class MemberController {
     public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition, Pageable pageable) {
         return memberRepository.searchPageComplex(condition, pageable);
     }
+
+    // 커서 기반 페이징 - 응답의 nextCursor / prevCursor 를 그대로 다시 넘기면 된다
+    @GetMapping("v4/members")
+    public KeysetPage<MemberTeamDto> searchMemberV4(MemberSearchCondition condition,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "10") int size) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be positive: " + size);
+        }
+        try {
+            KeysetCursor.decode(cursor); // 잘못된 / 변조된 커서는 500 이 아니라 400
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return memberRepository.searchKeyset(condition, cursor, Math.min(size, MAX_PAGE_SIZE));
+    }
 }
@@ -0,0 +1,14 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+
+/**
+ * 대량 저장용 회원 한 건 (팀은 id 로만 가리킴)
+ */
+@Data
+public class MemberIngestRow {
+
+    private final String username;
+    private final int age;
+    private final Long teamId;
+}
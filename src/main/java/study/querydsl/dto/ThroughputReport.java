@@ -0,0 +1,31 @@
+package study.querydsl.dto;
+
+import lombok.Getter;
+
+/**
+ * 대량 작업 처리량 리포트 (처리 건수, 소요 시간, 초당 처리 건수)
+ */
+@Getter
+public class ThroughputReport {
+
+    private final String operation;
+    private final long rows;
+    private final long elapsedMillis;
+    private final long rowsPerSecond;
+
+    private ThroughputReport(String operation, long rows, long elapsedNanos) {
+        this.operation = operation;
+        this.rows = rows;
+        this.elapsedMillis = elapsedNanos / 1_000_000;
+        this.rowsPerSecond = elapsedNanos == 0 ? rows : rows * 1_000_000_000L / elapsedNanos;
+    }
+
+    public static ThroughputReport of(String operation, long rows, long startNanos) {
+        return new ThroughputReport(operation, rows, System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public String toString() {
+        return operation + ": " + rows + " rows in " + elapsedMillis + "ms (" + rowsPerSecond + " rows/sec)";
+    }
+}
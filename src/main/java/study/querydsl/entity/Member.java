@@ -1,17 +1,26 @@
 package study.querydsl.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import study.querydsl.repository.support.TableChangeEntityListener;
 
 import javax.persistence.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Team.members 컬렉션 캐시가 id 로 회원을 찾기 때문
+@EntityListeners(TableChangeEntityListener.class)
+@NamedEntityGraph(name = "Member.team", attributeNodes = @NamedAttributeNode("team")) // MemberFetchPlan.TEAM
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id","username","age"}) // team 들어가면안됨 연관관계 설정되어있어서 무한루프에 빠짐
 public class Member {
 
+    // pooled-lo: 시퀀스 한번 호출로 id 50개 확보 (row 마다 시퀀스 왕복 X)
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
     @Column(name = "member_id")
     private Long id;
 
@@ -39,6 +48,13 @@ public class Member {
         this(username, age, null);
     }
 
+    // team.getMembers() 에 추가하지 않음 - 대량 저장용 (MemberBulkIngestService)
+    public static Member withoutBackReference(String username, int age, Team team) {
+        Member member = new Member(username, age);
+        member.team = team;
+        return member;
+    }
+
     public void changeTeam(Team team) {
         this.team = team;
         team.getMembers().add(this);
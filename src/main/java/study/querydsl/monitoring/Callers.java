@@ -0,0 +1,38 @@
+package study.querydsl.monitoring;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * 현재 스레드 스택에서 호출한 애플리케이션 메서드 찾기 (ex. MemberJpaRepository.search)
+ * CGLIB 프록시 프레임은 건너뛰고, 람다 안이면 람다를 감싼 메서드 이름을 사용
+ */
+final class Callers {
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private Callers() {
+    }
+
+    static Optional<String> find(Predicate<String> className) {
+        return WALKER.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().contains("$$") && className.test(frame.getClassName()))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + methodName(frame.getMethodName())));
+    }
+
+    private static String simpleName(String className) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int inner = name.indexOf('$');
+        return inner < 0 ? name : name.substring(0, inner);
+    }
+
+    // lambda$searchPageComplex$3 -> searchPageComplex
+    private static String methodName(String methodName) {
+        if (methodName.startsWith("lambda$")) {
+            int end = methodName.indexOf('$', "lambda$".length());
+            return end < 0 ? methodName : methodName.substring("lambda$".length(), end);
+        }
+        return methodName;
+    }
+}
@@ -0,0 +1,18 @@
+package study.querydsl.monitoring;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * DB 별 실행 계획 조회 - 다른 DB 를 쓰면 구현체를 빈으로 등록하면 된다 (SlowQueryLog 가 supports 로 선택)
+ */
+public interface ExplainPlanProvider {
+
+    boolean supports(String databaseProductName);
+
+    /**
+     * 같은 파라미터로 쿼리를 다시 실행해서 실행 계획 + 실제 실행 정보를 문자열로 반환 (select 만 넘어온다)
+     */
+    String explain(Connection connection, String sql, List<Object> parameters) throws SQLException;
+}
@@ -0,0 +1,46 @@
+package study.querydsl.monitoring;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * hibernate Statistics 를 querydsl.query 메트릭 옆에 같이 노출 (hibernate.generate_statistics: true 필요)
+ */
+@Component
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private final EntityManagerFactory emf;
+
+    public HibernateStatisticsMetrics(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        counter(registry, statistics, "querydsl.hibernate.query.plan.cache", Statistics::getQueryPlanCacheHitCount, "result", "hit");
+        counter(registry, statistics, "querydsl.hibernate.query.plan.cache", Statistics::getQueryPlanCacheMissCount, "result", "miss");
+        counter(registry, statistics, "querydsl.hibernate.query.executions", Statistics::getQueryExecutionCount);
+        counter(registry, statistics, "querydsl.hibernate.entity.loads", Statistics::getEntityLoadCount);
+        counter(registry, statistics, "querydsl.hibernate.entity.fetches", Statistics::getEntityFetchCount);
+        counter(registry, statistics, "querydsl.hibernate.collection.fetches", Statistics::getCollectionFetchCount);
+        counter(registry, statistics, "querydsl.hibernate.flushes", Statistics::getFlushCount);
+        counter(registry, statistics, "querydsl.hibernate.statements.prepared", Statistics::getPrepareStatementCount);
+        counter(registry, statistics, "querydsl.hibernate.second.level.cache", Statistics::getSecondLevelCacheHitCount, "result", "hit");
+        counter(registry, statistics, "querydsl.hibernate.second.level.cache", Statistics::getSecondLevelCacheMissCount, "result", "miss");
+    }
+
+    private static void counter(MeterRegistry registry, Statistics statistics, String name,
+                                ToDoubleFunction<Statistics> value, String... tags) {
+        FunctionCounter.builder(name, statistics, value)
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -0,0 +1,75 @@
+package study.querydsl.monitoring;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.QueryResults;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.JPQLTemplates;
+import com.querydsl.jpa.impl.JPAQuery;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+/**
+ * fetch / fetchOne / fetchCount / fetchResults 실행 시간, row 수, JPQL 길이를 기록하는 JPAQuery
+ * select / from / where 등은 this 를 그대로 돌려주므로 체이닝해도 계측이 유지된다.
+ * 호출한 리포지토리 메서드(caller)는 만들 때 한번만 찾고 clone 에도 넘김 -> 실행마다 스택을 훑지 않음
+ */
+public class InstrumentedJPAQuery<T> extends JPAQuery<T> {
+
+    private final QueryMetrics metrics;
+    private final String caller;
+    private int jpqlLength;
+
+    public InstrumentedJPAQuery(EntityManager em, QueryMetrics metrics) {
+        super(em);
+        this.metrics = metrics;
+        this.caller = QueryMetrics.caller();
+    }
+
+    public InstrumentedJPAQuery(EntityManager em, JPQLTemplates templates, QueryMetadata metadata, QueryMetrics metrics,
+                                String caller) {
+        super(em, templates, metadata);
+        this.metrics = metrics;
+        this.caller = caller;
+    }
+
+    @Override
+    public List<T> fetch() {
+        return metrics.record("fetch", caller, super::fetch, List::size, this::getJpqlLength);
+    }
+
+    @Override
+    public T fetchOne() {
+        return metrics.record("fetchOne", caller, super::fetchOne, result -> result == null ? 0 : 1, this::getJpqlLength);
+    }
+
+    @Override
+    public long fetchCount() {
+        return metrics.record("fetchCount", caller, super::fetchCount, count -> 1, this::getJpqlLength);
+    }
+
+    @Override
+    public QueryResults<T> fetchResults() {
+        return metrics.record("fetchResults", caller, super::fetchResults, results -> results.getResults().size(),
+                this::getJpqlLength);
+    }
+
+    // 페이징 등에서 clone 해도 계측 유지
+    @Override
+    public InstrumentedJPAQuery<T> clone(EntityManager entityManager, JPQLTemplates templates) {
+        InstrumentedJPAQuery<T> query = new InstrumentedJPAQuery<>(entityManager, templates, getMetadata().clone(), metrics, caller);
+        query.clone(this);
+        return query;
+    }
+
+    @Override
+    protected JPQLSerializer serialize(boolean forCountRow) {
+        JPQLSerializer serializer = super.serialize(forCountRow);
+        jpqlLength = serializer.toString().length();
+        return serializer;
+    }
+
+    private int getJpqlLength() {
+        return jpqlLength;
+    }
+}
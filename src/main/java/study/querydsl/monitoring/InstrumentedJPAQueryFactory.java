@@ -0,0 +1,53 @@
+package study.querydsl.monitoring;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.jpa.impl.JPADeleteClause;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+
+import javax.persistence.EntityManager;
+
+/**
+ * 모든 조회를 InstrumentedJPAQuery 로 만들고 update / delete 의 execute 도 계측하는 JPAQueryFactory
+ * 스프링 빈 하나로 등록해서 리포지토리들이 주입받아 사용 (QuerydslApplication)
+ */
+public class InstrumentedJPAQueryFactory extends JPAQueryFactory {
+
+    private final EntityManager em;
+    private final QueryMetrics metrics;
+
+    public InstrumentedJPAQueryFactory(EntityManager em, QueryMetrics metrics) {
+        super(em);
+        this.em = em;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public JPAQuery<?> query() {
+        return new InstrumentedJPAQuery<Void>(em, metrics);
+    }
+
+    // 벌크 clause 는 직렬화한 JPQL 을 밖으로 안 주므로 toString() 으로 한번 더 직렬화 (실행 1번당 1번이라 비용 무시)
+    @Override
+    public JPAUpdateClause update(EntityPath<?> path) {
+        String caller = QueryMetrics.caller();
+        return new JPAUpdateClause(em, path) {
+            @Override
+            public long execute() {
+                return metrics.record("update", caller, super::execute, count -> count.intValue(), () -> toString().length());
+            }
+        };
+    }
+
+    @Override
+    public JPADeleteClause delete(EntityPath<?> path) {
+        String caller = QueryMetrics.caller();
+        return new JPADeleteClause(em, path) {
+            @Override
+            public long execute() {
+                return metrics.record("delete", caller, super::execute, count -> count.intValue(), () -> toString().length());
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package study.querydsl.monitoring;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import study.querydsl.repository.MemberSearchCache;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/searchcache - 검색 결과 캐시 전체 통계 + 조건별 hit ratio (요청 많은 순)
+ */
+@Component
+@Endpoint(id = "searchcache")
+public class MemberSearchCacheEndpoint {
+
+    private static final int TOP_KEYS = 50;
+
+    private final MemberSearchCache memberSearchCache;
+
+    public MemberSearchCacheEndpoint(MemberSearchCache memberSearchCache) {
+        this.memberSearchCache = memberSearchCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        CacheStats stats = memberSearchCache.getStats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hitRatio", stats.hitRate());
+        result.put("loads", stats.loadCount());
+        result.put("evictions", stats.evictionCount());
+        result.put("weightedRows", memberSearchCache.getWeightedRows());
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        memberSearchCache.getKeyStats().entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<?, MemberSearchCache.KeyStats> e) -> e.getValue().getHits() + e.getValue().getMisses())
+                        .reversed())
+                .limit(TOP_KEYS)
+                .forEach(e -> keys.put(e.getKey().toString(), Map.of(
+                        "hits", e.getValue().getHits(),
+                        "misses", e.getValue().getMisses(),
+                        "hitRatio", e.getValue().getHitRatio())));
+        result.put("keys", keys);
+        return result;
+    }
+}
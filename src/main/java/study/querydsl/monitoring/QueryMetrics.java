@@ -0,0 +1,95 @@
+package study.querydsl.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * querydsl 쿼리 실행 메트릭 (InstrumentedJPAQuery / InstrumentedJPAQueryFactory / MemberSearchTemplates 에서 호출)
+ * - querydsl.query : 실행 시간 (operation, caller)
+ * - querydsl.query.rows : 반환 row 수
+ * - querydsl.query.jpql.length : 직렬화된 JPQL 길이
+ * caller 는 스택에서 찾은 첫번째 애플리케이션 클래스.메서드 (ex. MemberJpaRepository.search)
+ */
+@Component
+public class QueryMetrics {
+
+    private static final String APPLICATION_PACKAGE = "study.querydsl.";
+    private static final String MONITORING_PACKAGE = "study.querydsl.monitoring.";
+    private static final String REPOSITORY_SUPPORT = "study.querydsl.repository.support.";
+    private static final String SEARCH_TEMPLATES = "study.querydsl.repository.MemberSearchTemplates";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public QueryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <R> R record(String operation, Supplier<R> query, ToIntFunction<R> rows, IntSupplier jpqlLength) {
+        return record(operation, caller(), query, rows, jpqlLength);
+    }
+
+    // caller 를 미리 찾아 둔 경우 (InstrumentedJPAQuery 는 만들 때 한번만 스택을 훑음)
+    public <R> R record(String operation, String caller, Supplier<R> query, ToIntFunction<R> rows, IntSupplier jpqlLength) {
+        Meters meters = meters(operation, caller);
+        long start = System.nanoTime();
+        try {
+            R result = query.get();
+            meters.rows.record(rows.applyAsInt(result));
+            return result;
+        } finally {
+            meters.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            int length = jpqlLength.getAsInt();
+            if (length > 0) {
+                meters.jpqlLength.record(length);
+            }
+        }
+    }
+
+    private Meters meters(String operation, String caller) {
+        String key = operation + '|' + caller;
+        Meters found = meters.get(key);
+        return found != null ? found : meters.computeIfAbsent(key, k -> new Meters(registry, operation, caller));
+    }
+
+    // 계측 코드, Querydsl4RepositorySupport / MemberSearchTemplates 같은 공통 지원 클래스는 건너뜀
+    static String caller() {
+        return Callers.find(className -> className.startsWith(APPLICATION_PACKAGE)
+                        && !className.startsWith(MONITORING_PACKAGE)
+                        && !className.startsWith(REPOSITORY_SUPPORT)
+                        && !className.startsWith(SEARCH_TEMPLATES))
+                .orElse("unknown");
+    }
+
+    private static final class Meters {
+
+        private final Timer latency;
+        private final DistributionSummary rows;
+        private final DistributionSummary jpqlLength;
+
+        private Meters(MeterRegistry registry, String operation, String caller) {
+            this.latency = Timer.builder("querydsl.query")
+                    .tag("operation", operation)
+                    .tag("caller", caller)
+                    .register(registry);
+            this.rows = DistributionSummary.builder("querydsl.query.rows")
+                    .tag("operation", operation)
+                    .tag("caller", caller)
+                    .register(registry);
+            this.jpqlLength = DistributionSummary.builder("querydsl.query.jpql.length")
+                    .baseUnit("characters")
+                    .tag("operation", operation)
+                    .tag("caller", caller)
+                    .register(registry);
+        }
+    }
+}
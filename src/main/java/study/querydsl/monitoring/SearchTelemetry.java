@@ -0,0 +1,118 @@
+package study.querydsl.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.repository.MemberSearchShape;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * 검색 호출을 (메서드, 조건 모양, 페이지 깊이, 성공/실패) 로 분류해서 지연시간 / row 수를 기록
+ * 조합이 최대 4 x 16 x 5 x 2 개라 미터는 한번 만들고 재사용 -> 호출당 비용은 맵 조회 + 타이머 기록 정도
+ */
+@Component
+public class SearchTelemetry {
+
+    public static final String CACHED_SEARCH = "cachedSearch"; // MemberSearchCache (/v1/members)
+    public static final String SEARCH = "search";
+    public static final String PAGE_SIMPLE = "searchPageSimple";
+    public static final String PAGE_COMPLEX = "searchPageComplex";
+
+    static final String SUCCESS = "success";
+    static final String ERROR = "error";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Shape> shapes = new ConcurrentHashMap<>();
+
+    public SearchTelemetry(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> T record(String operation, MemberSearchCondition condition, Pageable pageable,
+                        Supplier<T> search, ToIntFunction<T> rows) {
+        int conditionShape = MemberSearchShape.of(condition);
+        String depth = depth(pageable);
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = search.get();
+        } catch (RuntimeException e) {
+            shape(operation, conditionShape, depth, ERROR).latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        Shape shape = shape(operation, conditionShape, depth, SUCCESS);
+        shape.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        shape.rows.record(rows.applyAsInt(result));
+        return result;
+    }
+
+    public Collection<Shape> getShapes() {
+        return shapes.values();
+    }
+
+    private Shape shape(String operation, int shape, String depth, String outcome) {
+        String key = operation + '|' + shape + '|' + depth + '|' + outcome;
+        Shape found = shapes.get(key);
+        return found != null ? found : shapes.computeIfAbsent(key,
+                k -> new Shape(registry, operation, MemberSearchShape.describe(shape), depth, outcome));
+    }
+
+    // 페이지 번호 구간 - 깊은 offset 페이지가 느려지는지 보기 위함
+    static String depth(Pageable pageable) {
+        if (pageable == null || pageable.isUnpaged()) {
+            return "unpaged";
+        }
+        int page = pageable.getPageNumber();
+        if (page == 0) {
+            return "0";
+        }
+        if (page < 10) {
+            return "1-9";
+        }
+        if (page < 100) {
+            return "10-99";
+        }
+        return "100+";
+    }
+
+    @Getter
+    public static class Shape {
+
+        private final String operation;
+        private final String shape;
+        private final String depth;
+        private final String outcome;
+        private final Timer latency;
+        private final DistributionSummary rows;
+
+        Shape(MeterRegistry registry, String operation, String shape, String depth, String outcome) {
+            this.operation = operation;
+            this.shape = shape;
+            this.depth = depth;
+            this.outcome = outcome;
+            this.latency = Timer.builder("member.search")
+                    .tag("operation", operation)
+                    .tag("shape", shape)
+                    .tag("depth", depth)
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(registry);
+            this.rows = DistributionSummary.builder("member.search.rows")
+                    .tag("operation", operation)
+                    .tag("shape", shape)
+                    .tag("depth", depth)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
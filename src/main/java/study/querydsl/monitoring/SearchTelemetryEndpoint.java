@@ -0,0 +1,54 @@
+package study.querydsl.monitoring;
+
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /actuator/searchtelemetry - 검색 모양별 호출 수 / 지연시간 (ms) / 평균 row 수, 총 소요시간 큰 순
+ */
+@Component
+@Endpoint(id = "searchtelemetry")
+public class SearchTelemetryEndpoint {
+
+    private final SearchTelemetry searchTelemetry;
+
+    public SearchTelemetryEndpoint(SearchTelemetry searchTelemetry) {
+        this.searchTelemetry = searchTelemetry;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> shapes() {
+        List<SearchTelemetry.Shape> shapes = new ArrayList<>(searchTelemetry.getShapes());
+        shapes.sort(Comparator.comparingDouble(
+                (SearchTelemetry.Shape s) -> s.getLatency().totalTime(TimeUnit.MILLISECONDS)).reversed());
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (SearchTelemetry.Shape shape : shapes) {
+            HistogramSnapshot snapshot = shape.getLatency().takeSnapshot();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("operation", shape.getOperation());
+            values.put("shape", shape.getShape());
+            values.put("depth", shape.getDepth());
+            values.put("outcome", shape.getOutcome());
+            values.put("count", snapshot.count());
+            values.put("meanMs", snapshot.mean(TimeUnit.MILLISECONDS));
+            values.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                values.put("p" + Math.round(percentile.percentile() * 100) + "Ms", percentile.value(TimeUnit.MILLISECONDS));
+            }
+            values.put("meanRows", shape.getRows().mean());
+            result.add(values);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,67 @@
+package study.querydsl.monitoring;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/l2cache - 2차 캐시 리전별 hit/miss/put (hibernate) + eviction (JCache 통계 MBean)
+ */
+@Component
+@Endpoint(id = "l2cache")
+public class SecondLevelCacheEndpoint {
+
+    private final EntityManagerFactory emf;
+
+    public SecondLevelCacheEndpoint(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Long>> regions() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Long> evictions = jcacheEvictions();
+
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            Map<String, Long> values = new LinkedHashMap<>();
+            values.put("hits", regionStatistics.getHitCount());
+            values.put("misses", regionStatistics.getMissCount());
+            values.put("puts", regionStatistics.getPutCount());
+            values.put("elements", regionStatistics.getElementCountInMemory());
+            values.put("evictions", evictions.getOrDefault(region, -1L));
+            result.put(region, values);
+        }
+        return result;
+    }
+
+    // JSR-107 표준 통계 MBean (caffeine.jcache monitoring.statistics = true 일 때 등록됨)
+    private static Map<String, Long> jcacheEvictions() {
+        Map<String, Long> evictions = new LinkedHashMap<>();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ObjectName name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                Object value = server.getAttribute(name, "CacheEvictions");
+                evictions.put(ObjectName.unquote(name.getKeyProperty("Cache")), ((Number) value).longValue());
+            }
+        } catch (JMException | IllegalArgumentException e) {
+            // 통계가 꺼져 있으면 eviction 은 -1
+        }
+        return evictions;
+    }
+}
@@ -0,0 +1,50 @@
+package study.querydsl.monitoring;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * 느린 쿼리 한 건 - plan 은 EXPLAIN 이 끝나면 나중에 채워짐
+ */
+@Getter
+public class SlowQuery {
+
+    private final Instant executedAt = Instant.now();
+    private final String caller;
+    private final long elapsedMillis;
+    private final String sql;
+    private final String sqlWithValues;
+    private final List<String> boundValues;
+    @Getter(AccessLevel.PACKAGE)
+    private final List<Object> parameters;
+    private volatile String plan;
+
+    public SlowQuery(String caller, long elapsedMillis, String sql, String sqlWithValues, List<Object> parameters) {
+        this.caller = caller;
+        this.elapsedMillis = elapsedMillis;
+        this.sql = sql;
+        this.sqlWithValues = sqlWithValues;
+        this.parameters = parameters;
+        this.boundValues = parameters.stream().map(String::valueOf).collect(Collectors.toList());
+    }
+
+    // EXPLAIN ANALYZE 는 쿼리를 실제로 실행하므로 select 만
+    boolean isSelect() {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return head.startsWith("select") || head.startsWith("with");
+    }
+
+    void setPlan(String plan) {
+        this.plan = plan;
+    }
+
+    @Override
+    public String toString() {
+        return caller + " " + elapsedMillis + "ms\n" + sqlWithValues + (plan == null ? "" : "\n" + plan);
+    }
+}
@@ -0,0 +1,62 @@
+package study.querydsl.monitoring;
+
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.common.Value;
+import com.p6spy.engine.event.JdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리포지토리 패키지에서 실행한 SQL 이 threshold 보다 오래 걸리면 SlowQueryLog 에 기록
+ * 호출 위치(스택)는 느린 쿼리일 때만 찾으니 평소 비용은 시간 비교 한번
+ */
+@Component
+public class SlowQueryListener extends JdbcEventListener {
+
+    private static final String REPOSITORY_PACKAGE = "study.querydsl.repository.";
+    private static final String REPOSITORY_SUPPORT = "study.querydsl.repository.support.";
+
+    private final SlowQueryLog slowQueryLog;
+    private final long thresholdNanos;
+
+    public SlowQueryListener(SlowQueryLog slowQueryLog,
+                             @org.springframework.beans.factory.annotation.Value("${querydsl.slow-query.threshold:500ms}") Duration threshold) {
+        this.slowQueryLog = slowQueryLog;
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (timeElapsedNanos < thresholdNanos || SlowQueryLog.isExplaining()) {
+            return;
+        }
+        Optional<String> caller = Callers.find(className -> className.startsWith(REPOSITORY_PACKAGE)
+                && !className.startsWith(REPOSITORY_SUPPORT));
+        if (caller.isEmpty()) {
+            return;
+        }
+        slowQueryLog.record(new SlowQuery(caller.get(), TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos),
+                statementInformation.getSql(), statementInformation.getSqlWithValues(), parameters(statementInformation)));
+    }
+
+    private static List<Object> parameters(StatementInformation statementInformation) {
+        if (!(statementInformation instanceof PreparedStatementInformation)) {
+            return List.of();
+        }
+        Map<Integer, Value> values = new TreeMap<>(((PreparedStatementInformation) statementInformation).getParameterValues());
+        List<Object> parameters = new ArrayList<>(values.size());
+        for (Value value : values.values()) {
+            parameters.add(value.getValue());
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,110 @@
+package study.querydsl.monitoring;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 느린 쿼리 보관 (최근 capacity 건 링 버퍼) + slow-query 로거 (logback-spring.xml 에서 롤링 파일로)
+ * select 는 별도 스레드에서 EXPLAIN ANALYZE 를 떠서 같이 남김. 같은 SQL 은 explain-interval 동안 한번만.
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Logger SLOW_QUERY_LOG = LoggerFactory.getLogger("slow-query");
+
+    // EXPLAIN 실행 자체가 느린 쿼리로 다시 잡히지 않도록
+    private static final ThreadLocal<Boolean> EXPLAINING = ThreadLocal.withInitial(() -> false);
+
+    private final ObjectProvider<DataSource> dataSource; // DataSource 데코레이터(p6spy) 와 순환 참조를 피하기 위해 지연 조회
+    private final List<ExplainPlanProvider> explainPlanProviders;
+    private final Executor explainExecutor;
+    private final boolean explain;
+    private final int capacity;
+    private final Deque<SlowQuery> recent = new ArrayDeque<>();
+    private final Cache<String, Boolean> explained;
+
+    public SlowQueryLog(ObjectProvider<DataSource> dataSource,
+                        List<ExplainPlanProvider> explainPlanProviders,
+                        @Qualifier("slowQueryExplainExecutor") Executor explainExecutor,
+                        @Value("${querydsl.slow-query.explain:true}") boolean explain,
+                        @Value("${querydsl.slow-query.explain-interval:10m}") Duration explainInterval,
+                        @Value("${querydsl.slow-query.capacity:100}") int capacity) {
+        this.dataSource = dataSource;
+        this.explainPlanProviders = explainPlanProviders;
+        this.explainExecutor = explainExecutor;
+        this.explain = explain;
+        this.capacity = capacity;
+        this.explained = Caffeine.newBuilder()
+                .expireAfterWrite(explainInterval)
+                .maximumSize(1000)
+                .build();
+    }
+
+    public static boolean isExplaining() {
+        return EXPLAINING.get();
+    }
+
+    public void record(SlowQuery slowQuery) {
+        synchronized (recent) {
+            if (recent.size() == capacity) {
+                recent.removeFirst();
+            }
+            recent.addLast(slowQuery);
+        }
+        if (!explain || !slowQuery.isSelect() || explained.asMap().putIfAbsent(slowQuery.getSql(), true) != null) {
+            SLOW_QUERY_LOG.warn("{}", slowQuery);
+            return;
+        }
+        try {
+            explainExecutor.execute(() -> explain(slowQuery));
+        } catch (RejectedExecutionException e) {
+            explained.invalidate(slowQuery.getSql()); // 다음에 다시 잡히면 explain 하도록
+            SLOW_QUERY_LOG.warn("{}", slowQuery); // explain 대기열이 꽉 참 -> 계획 없이
+        }
+    }
+
+    // 최신 순
+    public List<SlowQuery> getRecent() {
+        synchronized (recent) {
+            List<SlowQuery> result = new ArrayList<>(recent);
+            Collections.reverse(result);
+            return result;
+        }
+    }
+
+    private void explain(SlowQuery slowQuery) {
+        EXPLAINING.set(true);
+        try (Connection connection = dataSource.getObject().getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            for (ExplainPlanProvider provider : explainPlanProviders) {
+                if (provider.supports(product)) {
+                    slowQuery.setPlan(provider.explain(connection, slowQuery.getSql(), slowQuery.getParameters()));
+                    break;
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            slowQuery.setPlan("explain failed: " + e.getMessage());
+        } finally {
+            EXPLAINING.remove();
+            SLOW_QUERY_LOG.warn("{}", slowQuery);
+        }
+    }
+}
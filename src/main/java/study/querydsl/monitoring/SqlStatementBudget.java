@@ -0,0 +1,38 @@
+package study.querydsl.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 범위가 끝났을 때 SQL 예산 초과 / 중복 / N+1 의심을 경고 로그로 남김
+ */
+@Slf4j
+@Component
+public class SqlStatementBudget {
+
+    private final int maxStatements;
+    private final int nPlusOneThreshold;
+
+    public SqlStatementBudget(@Value("${querydsl.sql-budget.max-statements:30}") int maxStatements,
+                              @Value("${querydsl.sql-budget.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.maxStatements = maxStatements;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    public void check(SqlStatementStats stats) {
+        if (stats.getCount() > maxStatements) {
+            log.warn("[sql-budget] {} executed {} statements (budget {})", stats.getName(), stats.getCount(), maxStatements);
+        }
+        List<String> duplicates = stats.getDuplicates();
+        if (!duplicates.isEmpty()) {
+            log.warn("[sql-budget] {} duplicate statements: {}", stats.getName(), duplicates);
+        }
+        List<String> suspects = stats.getNPlusOneSuspects(nPlusOneThreshold);
+        if (!suspects.isEmpty()) {
+            log.warn("[sql-budget] {} possible N+1: {}", stats.getName(), suspects);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package study.querydsl.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 현재 스레드에서 열려있는 범위들(SqlStatementStats)에 실행된 SQL 을 기록
+ * 범위는 중첩 가능 (요청 안에 트랜잭션, 테스트 안에 트랜잭션 ...)
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<List<SqlStatementStats>> SCOPES = ThreadLocal.withInitial(ArrayList::new);
+
+    private SqlStatementCounter() {
+    }
+
+    public static SqlStatementStats start(String name) {
+        SqlStatementStats stats = new SqlStatementStats(name);
+        SCOPES.get().add(stats);
+        return stats;
+    }
+
+    public static void stop(SqlStatementStats stats) {
+        List<SqlStatementStats> scopes = SCOPES.get();
+        scopes.remove(stats);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    static void record(String sql, String sqlWithValues) {
+        for (SqlStatementStats stats : SCOPES.get()) {
+            stats.record(sql, sqlWithValues);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package study.querydsl.monitoring;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+
+/**
+ * p6spy 로 실행되는 모든 SQL 을 SqlStatementCounter 에 기록
+ * 트랜잭션 범위는 트랜잭션 안에서 첫 SQL 이 실행될 때 열고 트랜잭션이 끝나면 검사한다.
+ */
+@Component
+public class SqlStatementListener extends JdbcEventListener {
+
+    private final SqlStatementBudget budget;
+
+    public SqlStatementListener(SqlStatementBudget budget) {
+        this.budget = budget;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getResource(this) == null) {
+            openTransactionScope();
+        }
+        SqlStatementCounter.record(statementInformation.getSql(), statementInformation.getSqlWithValues());
+    }
+
+    private void openTransactionScope() {
+        String name = "tx " + TransactionSynchronizationManager.getCurrentTransactionName();
+        SqlStatementStats stats = SqlStatementCounter.start(name);
+        TransactionSynchronizationManager.bindResource(this, stats);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SqlStatementListener.this);
+                SqlStatementCounter.stop(stats);
+                budget.check(stats);
+            }
+        });
+    }
+}
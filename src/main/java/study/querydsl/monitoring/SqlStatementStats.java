@@ -0,0 +1,76 @@
+package study.querydsl.monitoring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 하나의 범위(요청, 트랜잭션, 테스트)에서 실행된 SQL 통계
+ * - 같은 SQL + 같은 파라미터가 반복 -> 중복 쿼리
+ * - 같은 SQL 모양이 파라미터만 바뀌면서 여러 번 -> N+1 의심 (ex. 루프 안에서 member.getTeam() 지연로딩)
+ */
+public class SqlStatementStats {
+
+    private final String name;
+    private int count;
+    private int selectCount;
+    private final Map<String, Integer> executions = new HashMap<>(); // sql with values
+    private final Map<String, Set<String>> shapes = new HashMap<>(); // sql (? 그대로) -> 실행된 파라미터 조합
+
+    public SqlStatementStats(String name) {
+        this.name = name;
+    }
+
+    void record(String sql, String sqlWithValues) {
+        count++;
+        if (sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+            selectCount++;
+        }
+        executions.merge(sqlWithValues, 1, Integer::sum);
+        shapes.computeIfAbsent(sql, k -> new HashSet<>()).add(sqlWithValues);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getSelectCount() {
+        return selectCount;
+    }
+
+    // 완전히 같은 SQL(파라미터 포함)이 2번 이상 실행된 것들
+    public List<String> getDuplicates() {
+        List<String> duplicates = new ArrayList<>();
+        executions.forEach((sql, times) -> {
+            if (times > 1) {
+                duplicates.add(times + "x " + sql);
+            }
+        });
+        return duplicates;
+    }
+
+    // 같은 모양의 select 가 서로 다른 파라미터로 threshold 번 이상 실행된 것들
+    // 같은 값으로 반복된 조회는 N+1 이 아니라 중복 (getDuplicates)
+    public List<String> getNPlusOneSuspects(int threshold) {
+        List<String> suspects = new ArrayList<>();
+        shapes.forEach((sql, values) -> {
+            if (values.size() >= threshold && sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+                suspects.add(values.size() + "x " + sql);
+            }
+        });
+        return suspects;
+    }
+
+    @Override
+    public String toString() {
+        return name + " sql=" + count + " select=" + selectCount;
+    }
+}
@@ -0,0 +1,113 @@
+package study.querydsl.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.BatchLoader;
+import study.querydsl.repository.support.IdBatchLoader;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 요청 하나 동안 member / team id 조회를 모아서 in 쿼리 한번으로 (BatchLoader)
+ * 범위: 웹 요청이면 요청, 아니면 현재 트랜잭션, 둘 다 없으면 호출 한번
+ * 조회 자체는 IdBatchLoader -> 영속성 컨텍스트 / 2차 캐시에 있으면 DB 안 감
+ */
+@Component
+public class MemberDataLoader {
+
+    private static final String ATTRIBUTE = MemberDataLoader.class.getName();
+
+    private final EntityManager em;
+    private final IdBatchLoader idBatchLoader;
+    private final int maxBatchSize;
+
+    public MemberDataLoader(EntityManager em, IdBatchLoader idBatchLoader,
+                            @Value("${querydsl.data-loader.max-batch-size:100}") int maxBatchSize) {
+        this.em = em;
+        this.idBatchLoader = idBatchLoader;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public CompletableFuture<Member> loadMember(Long id) {
+        return loaders().members.load(id);
+    }
+
+    public CompletableFuture<List<Member>> loadMembers(Collection<Long> ids) {
+        return loaders().members.loadMany(ids);
+    }
+
+    // member.getTeam() 프록시를 하나씩 초기화하는 대신 팀 id 를 모아서 조회
+    public CompletableFuture<Team> loadTeam(Member m) {
+        Team proxy = m.getTeam();
+        PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        if (proxy == null || util.isLoaded(proxy)) {
+            return CompletableFuture.completedFuture(proxy);
+        }
+        return loaders().teams.load((Long) util.getIdentifier(proxy)); // 프록시 id 는 초기화 없이 꺼냄
+    }
+
+    public void dispatch() {
+        Loaders loaders = loaders();
+        loaders.members.dispatch();
+        loaders.teams.dispatch();
+    }
+
+    private Loaders loaders() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            Loaders loaders = (Loaders) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (loaders == null) {
+                loaders = new Loaders();
+                attributes.setAttribute(ATTRIBUTE, loaders, RequestAttributes.SCOPE_REQUEST);
+            }
+            return loaders;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Loaders loaders = (Loaders) TransactionSynchronizationManager.getResource(this);
+            if (loaders == null) {
+                loaders = new Loaders();
+                TransactionSynchronizationManager.bindResource(this, loaders);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(MemberDataLoader.this);
+                    }
+                });
+            }
+            return loaders;
+        }
+        return new Loaders(); // 묶을 범위가 없음
+    }
+
+    private final class Loaders {
+
+        private final BatchLoader<Long, Member> members = new BatchLoader<>(
+                ids -> byId(idBatchLoader.findAllByIds(member, member.id, ids), Member::getId), maxBatchSize);
+        private final BatchLoader<Long, Team> teams = new BatchLoader<>(
+                ids -> byId(idBatchLoader.findAllByIds(team, team.id, ids), Team::getId), maxBatchSize);
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        Map<Long, T> result = new HashMap<>();
+        for (T entity : entities) {
+            result.put(id.apply(entity), entity);
+        }
+        return result;
+    }
+}
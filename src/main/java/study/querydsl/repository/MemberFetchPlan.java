@@ -0,0 +1,29 @@
+package study.querydsl.repository;
+
+import org.hibernate.graph.GraphSemantic;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+/**
+ * Member 엔티티 조회 시 연관관계를 같이 가져올지 호출마다 선택 (named entity graph)
+ * NONE 이어도 LAZY 연관은 hibernate.default_batch_fetch_size 로 in 쿼리 묶어서 로딩 -> N+1 대신 상수 번
+ */
+public enum MemberFetchPlan {
+
+    NONE(null),
+    TEAM("Member.team"); // member + team 한방 쿼리 (left join fetch)
+
+    private final String graphName;
+
+    MemberFetchPlan(String graphName) {
+        this.graphName = graphName;
+    }
+
+    public <Q extends Query> Q apply(Q query, EntityManager em) {
+        if (graphName != null) {
+            query.setHint(GraphSemantic.FETCH.getJpaHintName(), em.getEntityGraph(graphName));
+        }
+        return query;
+    }
+}
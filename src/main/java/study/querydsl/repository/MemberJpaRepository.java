@@ -4,6 +4,7 @@ import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 import study.querydsl.dto.MemberSearchCondition;
@@ -12,10 +13,16 @@ import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
 import study.querydsl.entity.QTeam;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.IdBatchLoader;
+import study.querydsl.repository.support.TeamIdResolver;
 
 import javax.persistence.EntityManager;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import static org.springframework.util.StringUtils.*;
 import static study.querydsl.entity.QMember.*;
@@ -26,10 +33,20 @@ public class MemberJpaRepository {
 
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
-
-    public MemberJpaRepository(EntityManager em) {
+    private final MemberSearchTemplates searchTemplates;
+    private final TeamIdResolver teamIdResolver;
+    private final IdBatchLoader idBatchLoader;
+    private final MemberDataLoader dataLoader;
+
+    public MemberJpaRepository(EntityManager em, JPAQueryFactory queryFactory, MemberSearchTemplates searchTemplates,
+                               TeamIdResolver teamIdResolver, IdBatchLoader idBatchLoader,
+                               MemberDataLoader dataLoader) {
         this.em = em;
-        this.queryFactory = new JPAQueryFactory(em);
+        this.queryFactory = queryFactory;
+        this.searchTemplates = searchTemplates;
+        this.teamIdResolver = teamIdResolver;
+        this.idBatchLoader = idBatchLoader;
+        this.dataLoader = dataLoader;
     }
 
     public void save(Member member) {
@@ -41,8 +58,26 @@ public class MemberJpaRepository {
         return Optional.ofNullable(findMember);
     }
 
+    // id 마다 em.find 대신 캐시 확인 후 나머지만 in 쿼리 (입력 순서 유지)
+    public List<Member> findAllByIds(Collection<Long> ids) {
+        return idBatchLoader.findAllByIds(member, member.id, ids);
+    }
+
+    // 요청 안에서 따로따로 부른 조회를 모아서 in 쿼리 한번 (join / get 할 때 실행)
+    public CompletableFuture<Member> loadById(Long id) {
+        return dataLoader.loadMember(id);
+    }
+
+    public CompletableFuture<Team> loadTeam(Member member) {
+        return dataLoader.loadTeam(member);
+    }
+
     public List<Member> findAll() {
-        return em.createQuery("select m from Member m", Member.class)
+        return findAll(MemberFetchPlan.NONE);
+    }
+
+    public List<Member> findAll(MemberFetchPlan fetchPlan) {
+        return fetchPlan.apply(em.createQuery("select m from Member m", Member.class), em)
                 .getResultList();
     }
 
@@ -74,7 +109,7 @@ public class MemberJpaRepository {
             builder.and(member.username.eq(condition.getUsername()));
         }
         if (hasText(condition.getTeamName())) {
-            builder.and(team.name.eq(condition.getTeamName()));
+            builder.and(member.team.id.in(teamIdResolver.resolve(condition.getTeamName())));
         }
         if (condition.getAgeGoe() != null) {
             builder.and(member.age.goe(condition.getAgeGoe()));
@@ -97,7 +132,15 @@ public class MemberJpaRepository {
     }
 
     // where절 파라미터 사용
+    // 조건 모양별로 미리 만들어 둔 JPQL 에 값만 바인딩 (MemberSearchTemplates)
+    // 지연시간은 호출하는 쪽(MemberSearchCache)에서 기록 - 백그라운드 refresh 는 사용자 호출이 아님
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return searchTemplates.search(condition);
+    }
+
+    // 결과를 List 로 모으지 않고 ScrollableResults(서버 커서)로 한 건씩 읽음
+    // 트랜잭션 안에서 사용하고 반드시 close 해야 커서가 닫힌다 (try-with-resources)
+    public Stream<MemberTeamDto> searchStream(MemberSearchCondition condition, int fetchSize) {
 
         return queryFactory
                 .select(new QMemberTeamDto(
@@ -115,23 +158,19 @@ public class MemberJpaRepository {
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe())
                 )
-                .fetch();
+                .setHint(QueryHints.FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.READ_ONLY, true)
+                .stream();
     }
 
     // condition 재사용으로 큰 장점
     public List<Member> searchMember(MemberSearchCondition condition) {
+        return searchTemplates.searchMember(condition);
+    }
 
-        return queryFactory
-                .selectFrom(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-//                        ageBetween(condition.getAgeLoe(), condition.getAgeGoe()) // 이런식으로 조립 가능
-                )
-                .fetch();
+    // 결과 Member 의 team 을 바로 쓸 거라면 MemberFetchPlan.TEAM
+    public List<Member> searchMember(MemberSearchCondition condition, MemberFetchPlan fetchPlan) {
+        return searchTemplates.searchMember(condition, fetchPlan);
     }
 
     // goe와 loe 조립 // 조립해서 사용하는 장점 null체크만 조심
@@ -145,7 +184,7 @@ public class MemberJpaRepository {
     }
 
     private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null;
+        return hasText(teamName) ? member.team.id.in(teamIdResolver.resolve(teamName)) : null;
     }
 
     private BooleanExpression ageGoe(Integer ageGoe) {
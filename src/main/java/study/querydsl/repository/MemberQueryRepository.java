@@ -0,0 +1,138 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.repository.support.TeamIdResolver;
+import study.querydsl.sql.SMember;
+import study.querydsl.sql.STeam;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * DTO 조회 전용 - JPQL 파싱 / hibernate SQL 변환 / 영속성 컨텍스트 없이 querydsl-sql 로 바로 SQL 실행
+ * Q 타입(SMember, STeam)은 빌드 때 src/main/querydsl-sql/schema.sql 로 생성 (generateQuerydslSql)
+ */
+@Repository
+@Transactional(readOnly = true)
+public class MemberQueryRepository {
+
+    private static final SMember member = SMember.member;
+    private static final STeam team = STeam.team;
+
+    private final SQLQueryFactory queryFactory;
+    private final TeamIdResolver teamIdResolver;
+
+    public MemberQueryRepository(SQLQueryFactory queryFactory, TeamIdResolver teamIdResolver) {
+        this.queryFactory = queryFactory;
+        this.teamIdResolver = teamIdResolver;
+    }
+
+    // MemberJpaRepository.search 와 같은 검색, QMemberTeamDto 생성자로 row 를 바로 매핑
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.memberId,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(team).on(member.teamId.eq(team.id))
+                .where(where(condition))
+                .fetch();
+    }
+
+    /**
+     * 조건 여러 개를 UNION ALL 쿼리 한번으로 (결과는 조건 순서대로)
+     * 각 select 앞에 조건 번호 컬럼을 붙여서 row 를 나눔. 같은 조건은 한번만 조회
+     * 없는 팀 이름 조건은 쿼리에서 빼고 빈 결과
+     * 같은 조건끼리 결과를 공유하므로 읽기 전용 리스트로 돌려줌 (한 칸을 고쳐도 다른 칸이 바뀌지 않게)
+     */
+    public List<List<MemberTeamDto>> searchAll(List<MemberSearchCondition> conditions) {
+        Map<MemberSearchCondition, Integer> distinct = new LinkedHashMap<>();
+        List<Integer> slots = new ArrayList<>(conditions.size());
+        for (MemberSearchCondition condition : conditions) {
+            slots.add(distinct.computeIfAbsent(condition.normalized(), c -> distinct.size()));
+        }
+
+        List<SubQueryExpression<Tuple>> selects = new ArrayList<>();
+        distinct.forEach((condition, slot) -> {
+            if (hasText(condition.getTeamName()) && teamIdResolver.resolve(condition.getTeamName()).isEmpty()) {
+                return;
+            }
+            selects.add(queryFactory
+                    .select(Expressions.numberTemplate(Integer.class, slot.toString()), // 바인딩 파라미터 말고 리터럴
+                            member.memberId, member.username, member.age, team.id, team.name)
+                    .from(member)
+                    .leftJoin(team).on(member.teamId.eq(team.id))
+                    .where(where(condition)));
+        });
+
+        List<List<MemberTeamDto>> results = new ArrayList<>(distinct.size());
+        for (int i = 0; i < distinct.size(); i++) {
+            results.add(new ArrayList<>());
+        }
+        if (!selects.isEmpty()) {
+            List<Tuple> rows = selects.size() == 1
+                    ? ((SQLQuery<Tuple>) selects.get(0)).fetch() // 하나면 union 없이
+                    : queryFactory.query().unionAll(selects).fetch();
+            for (Tuple row : rows) {
+                results.get(row.get(0, Integer.class)).add(new MemberTeamDto(
+                        row.get(1, Long.class),
+                        row.get(2, String.class),
+                        row.get(3, Integer.class),
+                        row.get(4, Long.class),
+                        row.get(5, String.class)));
+            }
+        }
+
+        List<List<MemberTeamDto>> ordered = new ArrayList<>(conditions.size());
+        for (Integer slot : slots) {
+            ordered.add(Collections.unmodifiableList(results.get(slot)));
+        }
+        return ordered;
+    }
+
+    private Predicate[] where(MemberSearchCondition condition) {
+        return new Predicate[]{
+                usernameEq(condition.getUsername()),
+                teamNameEq(condition.getTeamName()),
+                ageGoe(condition.getAgeGoe()),
+                ageLoe(condition.getAgeLoe())
+        };
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return hasText(username) ? member.username.eq(username) : null;
+    }
+
+    // JPA 쪽과 같이 팀 이름 -> 팀 id 로 바꿔서 member.team_id 로 거름
+    private BooleanExpression teamNameEq(String teamName) {
+        return hasText(teamName) ? member.teamId.in(teamIdResolver.resolve(teamName)) : null;
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe != null ? member.age.goe(ageGoe) : null;
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    }
+}
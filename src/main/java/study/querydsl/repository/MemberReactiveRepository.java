@@ -0,0 +1,104 @@
+package study.querydsl.repository;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.StringJoiner;
+
+/**
+ * MemberJpaRepository.search 의 R2DBC 버전 - 조회 전용, 쓰기는 JPA 그대로, 구독자가 요청한 만큼만 row 를 읽음
+ * 주의) H2 에는 진짜 논블로킹 드라이버가 없다. r2dbc-h2 는 H2 의 블로킹 엔진 / TCP 클라이언트를 감싼 것이라
+ * 구독(요청)한 스레드에서 그대로 블로킹된다. 그래서 요청 스레드(Tomcat) 대신 커넥션 풀 크기만큼의
+ * 전용 스케줄러에서 실행 -> 느린 클라이언트가 많아도 요청 스레드는 안 막히지만 동시 조회 수는 풀 크기로 제한됨
+ * where 절은 같은 조건 모양(MemberSearchShape)으로 만들고 모양별로 한번만 만들어 둔다.
+ * ConnectionFactory 를 빈으로 등록하면 DataSource 자동 설정이 빠지므로 여기서 직접 만들고 닫는다.
+ */
+@Repository
+public class MemberReactiveRepository implements DisposableBean {
+
+    private static final String SELECT = "select m.member_id, m.username, m.age, t.id as team_id, t.name as team_name"
+            + " from member m left outer join team t on m.team_id = t.id";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final Scheduler scheduler;
+    private final String[] sqlByShape = new String[MemberSearchShape.SHAPES];
+
+    public MemberReactiveRepository(@Value("${querydsl.r2dbc.url}") String url,
+                                    @Value("${querydsl.r2dbc.username:sa}") String username,
+                                    @Value("${querydsl.r2dbc.password:}") String password,
+                                    @Value("${querydsl.r2dbc.pool-size:10}") int poolSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(poolSize)
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        this.scheduler = Schedulers.newBoundedElastic(poolSize, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "r2dbc-h2");
+        for (int shape = 0; shape < MemberSearchShape.SHAPES; shape++) {
+            sqlByShape[shape] = sql(shape);
+        }
+    }
+
+    // 구독자가 요청한 만큼만 row 를 읽음 (backpressure), 구독 / 요청은 전용 스케줄러에서
+    public Flux<MemberTeamDto> search(MemberSearchCondition condition) {
+        int shape = MemberSearchShape.of(condition);
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sqlByShape[shape]);
+        if (MemberSearchShape.has(shape, MemberSearchShape.USERNAME)) {
+            spec = spec.bind("username", condition.getUsername());
+        }
+        if (MemberSearchShape.has(shape, MemberSearchShape.TEAM_NAME)) {
+            spec = spec.bind("teamName", condition.getTeamName());
+        }
+        if (MemberSearchShape.has(shape, MemberSearchShape.AGE_GOE)) {
+            spec = spec.bind("ageGoe", condition.getAgeGoe());
+        }
+        if (MemberSearchShape.has(shape, MemberSearchShape.AGE_LOE)) {
+            spec = spec.bind("ageLoe", condition.getAgeLoe());
+        }
+        return spec.map((row, metadata) -> new MemberTeamDto(
+                        row.get("member_id", Long.class),
+                        row.get("username", String.class),
+                        row.get("age", Integer.class),
+                        row.get("team_id", Long.class),
+                        row.get("team_name", String.class)))
+                .all()
+                .subscribeOn(scheduler);
+    }
+
+    private static String sql(int shape) {
+        StringJoiner where = new StringJoiner(" and ", " where ", "").setEmptyValue("");
+        if (MemberSearchShape.has(shape, MemberSearchShape.USERNAME)) {
+            where.add("m.username = :username");
+        }
+        if (MemberSearchShape.has(shape, MemberSearchShape.TEAM_NAME)) {
+            where.add("t.name = :teamName");
+        }
+        if (MemberSearchShape.has(shape, MemberSearchShape.AGE_GOE)) {
+            where.add("m.age >= :ageGoe");
+        }
+        if (MemberSearchShape.has(shape, MemberSearchShape.AGE_LOE)) {
+            where.add("m.age <= :ageLoe");
+        }
+        return SELECT + where;
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+        scheduler.dispose();
+    }
+}
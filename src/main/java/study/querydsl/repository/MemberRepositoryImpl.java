@@ -14,10 +14,20 @@ import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.monitoring.SearchTelemetry;
+import study.querydsl.repository.support.ConcurrentPageExecutor;
+import study.querydsl.repository.support.CountQueryCache;
+import study.querydsl.repository.support.IdBatchLoader;
+import study.querydsl.repository.support.KeysetPage;
+import study.querydsl.repository.support.KeysetPagination;
+import study.querydsl.repository.support.TeamIdResolver;
 
 import javax.annotation.Nullable;
 import javax.persistence.EntityManager;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.member;
@@ -28,59 +38,49 @@ import static study.querydsl.entity.QTeam.team;
 public class MemberRepositoryImpl extends QuerydslRepositorySupport implements MemberRepositoryCustom {
 
     private final JPAQueryFactory queryFactory;
+    private final CountQueryCache countQueryCache;
+    private final MemberSearchTemplates searchTemplates;
+    private final ConcurrentPageExecutor pageExecutor;
+    private final TeamIdResolver teamIdResolver;
+    private final SearchTelemetry searchTelemetry;
+    private final IdBatchLoader idBatchLoader;
+    private final MemberDataLoader dataLoader;
     // QuerydslRepositorySupport 사용하지 않을 경우
 //    public MemberRepositoryImpl(EntityManager em) {
 //        this.queryFactory = new JPAQueryFactory(em);
 //    }
 
     // QuerydslRepositorySupport 사용할 경우
-    public MemberRepositoryImpl(EntityManager em) {
+    public MemberRepositoryImpl(JPAQueryFactory queryFactory, CountQueryCache countQueryCache, MemberSearchTemplates searchTemplates,
+                                ConcurrentPageExecutor pageExecutor, TeamIdResolver teamIdResolver,
+                                SearchTelemetry searchTelemetry, IdBatchLoader idBatchLoader,
+                                MemberDataLoader dataLoader) {
         super(Member.class);
-        this.queryFactory = new JPAQueryFactory(em);
+        this.queryFactory = queryFactory;
+        this.countQueryCache = countQueryCache;
+        this.searchTemplates = searchTemplates;
+        this.pageExecutor = pageExecutor;
+        this.teamIdResolver = teamIdResolver;
+        this.searchTelemetry = searchTelemetry;
+        this.idBatchLoader = idBatchLoader;
+        this.dataLoader = dataLoader;
     }
 
 
     @Override
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
-
-        // QuerydslRepositorySupport 사용할 경우
-        List<MemberTeamDto> result = from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
-                .select(new QMemberTeamDto(
-                        member.id.as("memberId"),
-                        member.username,
-                        member.age,
-                        team.id.as("teamId"),
-                        team.name.as("teamName")))
-                .fetch();
-
-        return queryFactory
-                .select(new QMemberTeamDto(
-                        member.id.as("memberId"),
-                        member.username,
-                        member.age,
-                        team.id.as("teamId"),
-                        team.name.as("teamName")
-                ))
-                .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
-                .fetch();
+        return searchTelemetry.record(SearchTelemetry.SEARCH, condition, null,
+                () -> searchTemplates.search(condition), List::size);
     }
 
+    // 조건 모양 / 페이지 깊이별 지연시간 기록 (SearchTelemetry)
     @Override
     public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+        return searchTelemetry.record(SearchTelemetry.PAGE_SIMPLE, condition, pageable,
+                () -> fetchPageSimple(condition, pageable), Page::getNumberOfElements);
+    }
+
+    private Page<MemberTeamDto> fetchPageSimple(MemberSearchCondition condition, Pageable pageable) {
         QueryResults<MemberTeamDto> results = queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
@@ -139,27 +139,11 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
 
     @Override
     public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+        return searchTelemetry.record(SearchTelemetry.PAGE_COMPLEX, condition, pageable,
+                () -> fetchPageComplex(condition, pageable), Page::getNumberOfElements);
+    }
 
-        List<MemberTeamDto> content = queryFactory
-                .select(new QMemberTeamDto(
-                        member.id.as("memberId"),
-                        member.username,
-                        member.age,
-                        team.id.as("teamId"),
-                        team.name.as("teamName")
-                ))
-                .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
-                .orderBy(member.id.desc())
-                .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .fetch();
+    private Page<MemberTeamDto> fetchPageComplex(MemberSearchCondition condition, Pageable pageable) {
 
 //        long count = queryFactory
 //                .select(member)
@@ -173,8 +157,30 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
 //                )
 //                .fetchCount();
 
-        JPAQuery<Member> CountQuery = queryFactory
-                .select(member)
+//        return new PageImpl<>(content, pageable, count);
+        // content와 pageable의 토탈 사이즈를 보고 조건 충족시 count쿼리를 호출하지 않음
+        // 같은 조건으로 페이지만 넘길 때는 캐시된 count 재사용 (member/team 변경 시 무효화)
+        // content/count 모두 조건 모양별로 캐시된 JPQL 사용 (MemberSearchTemplates)
+        // 설정 시 count 를 별도 읽기 전용 커넥션에서 실행 (ConcurrentPageExecutor), 필요할 때만
+        return pageExecutor.getPage(
+                () -> searchTemplates.searchPage(condition, pageable.getOffset(), pageable.getPageSize()),
+                pageable,
+                () -> countQueryCache.fetchCount(
+                        List.of("searchPageComplex", condition.normalized()), () -> searchTemplates.count(condition)));
+    }
+
+    // 키셋 페이징 - offset 대신 마지막으로 본 member.id 이후를 seek 해서 깊은 페이지도 일정한 속도
+    @Override
+    public KeysetPage<MemberTeamDto> searchKeyset(MemberSearchCondition condition, String cursor, int size) {
+
+        JPAQuery<MemberTeamDto> query = queryFactory
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")
+                ))
                 .from(member)
                 .leftJoin(member.team, team)
                 .where(
@@ -184,10 +190,22 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
                         ageLoe(condition.getAgeLoe())
                 );
 
+        return KeysetPagination.fetch(query, member.id, MemberTeamDto::getMemberID, cursor, size);
+    }
+
+    @Override
+    public List<Member> findAllByIds(Collection<Long> ids) {
+        return idBatchLoader.findAllByIds(member, member.id, ids);
+    }
 
-//        return new PageImpl<>(content, pageable, count);
-        // content와 pageable의 토탈 사이즈를 보고 조건 충족시 count쿼리를 호출하지 않음
-        return PageableExecutionUtils.getPage(content, pageable, () -> CountQuery.fetchCount());
+    @Override
+    public CompletableFuture<Member> loadById(Long id) {
+        return dataLoader.loadMember(id);
+    }
+
+    @Override
+    public CompletableFuture<Team> loadTeam(Member member) {
+        return dataLoader.loadTeam(member);
     }
 
     private BooleanExpression usernameEq(String username) {
@@ -195,7 +213,7 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
     }
 
     private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null;
+        return hasText(teamName) ? member.team.id.in(teamIdResolver.resolve(teamName)) : null;
     }
 
     private BooleanExpression ageGoe(Integer ageGoe) {
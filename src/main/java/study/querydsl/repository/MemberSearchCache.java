@@ -0,0 +1,157 @@
+package study.querydsl.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.monitoring.SearchTelemetry;
+import study.querydsl.repository.support.CacheGeneration;
+import study.querydsl.repository.support.TableChangeListener;
+import study.querydsl.repository.support.TableChangePublisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MemberJpaRepository.search 결과 캐시 (/v1/members)
+ * - 정규화한 검색 조건이 키, caffeine (W-TinyLFU) 로 자주 쓰이는 조건만 남김
+ * - 가중치 = 결과 row 수 -> 조건 없는 큰 결과 하나가 다른 엔트리를 다 밀어내지 않게, max-entry-rows 보다 크면 캐시 안함
+ * - refresh-after 가 지난 엔트리는 읽을 때 옛날 값을 돌려주고 백그라운드에서 다시 조회 (refresh-ahead)
+ * - member/team 테이블이 바뀌면 전부 무효화 (TableChangePublisher)
+ */
+@Component
+public class MemberSearchCache implements TableChangeListener {
+
+    private static final List<String> TABLES = List.of("member", "team");
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final TableChangePublisher publisher;
+    private final SearchTelemetry searchTelemetry;
+    private final int maxEntryRows;
+    private final LoadingCache<List<Object>, List<MemberTeamDto>> cache;
+    // 조건별 hit/miss (무효화와 상관없이 유지)
+    private final Cache<MemberSearchCondition, KeyStats> keyStats = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .build();
+    private final CacheGeneration generation = new CacheGeneration();
+
+    public MemberSearchCache(MemberJpaRepository memberJpaRepository,
+                             TableChangePublisher publisher,
+                             SearchTelemetry searchTelemetry,
+                             @Qualifier("searchRefreshExecutor") Executor refreshExecutor,
+                             @Value("${querydsl.search-cache.maximum-rows:100000}") long maximumRows,
+                             @Value("${querydsl.search-cache.max-entry-rows:10000}") int maxEntryRows,
+                             @Value("${querydsl.search-cache.ttl:60s}") Duration ttl,
+                             @Value("${querydsl.search-cache.refresh-after:20s}") Duration refreshAfter) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.publisher = publisher;
+        this.searchTelemetry = searchTelemetry;
+        this.maxEntryRows = maxEntryRows;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumRows)
+                .<List<Object>, List<MemberTeamDto>>weigher((key, rows) -> Math.max(1, rows.size()))
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(key -> cacheable(load((MemberSearchCondition) CacheGeneration.unwrap(key)))); // refresh 결과가 너무 크면 null -> 엔트리 제거
+    }
+
+    // 캐시 hit 포함 사용자 호출만 기록 (refresh 로더는 기록 안함)
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return searchTelemetry.record(SearchTelemetry.CACHED_SEARCH, condition, null,
+                () -> lookup(condition), List::size);
+    }
+
+    private List<MemberTeamDto> lookup(MemberSearchCondition condition) {
+        MemberSearchCondition normalized = condition.normalized();
+        if (publisher.hasPendingChanges()) {
+            return memberJpaRepository.search(normalized); // 이 트랜잭션에서 변경한 내용은 캐시에 없음
+        }
+        KeyStats stats = keyStats.get(normalized, k -> new KeyStats());
+
+        // 캐시에 없어서 직접 조회한 경우 (너무 커서 캐시에 안 넣은 결과 포함)
+        AtomicReference<List<MemberTeamDto>> loaded = new AtomicReference<>();
+        List<MemberTeamDto> result = cache.get(generation.key(normalized), key -> {
+            stats.misses.increment();
+            List<MemberTeamDto> rows = load(normalized);
+            loaded.set(rows);
+            return cacheable(rows);
+        });
+        if (loaded.get() != null) {
+            return copy(loaded.get());
+        }
+        stats.hits.increment();
+        return copy(result);
+    }
+
+    // MemberTeamDto 는 setter 가 있음 -> 캐시에 든 객체를 그대로 주면 호출한 쪽 수정이 다음 hit 에 보임
+    private static List<MemberTeamDto> copy(List<MemberTeamDto> rows) {
+        List<MemberTeamDto> copy = new ArrayList<>(rows.size());
+        for (MemberTeamDto row : rows) {
+            copy.add(new MemberTeamDto(row.getMemberID(), row.getUsername(), row.getAge(),
+                    row.getTeamId(), row.getTeamName()));
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public long getWeightedRows() {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+    }
+
+    public Map<MemberSearchCondition, KeyStats> getKeyStats() {
+        return Map.copyOf(keyStats.asMap());
+    }
+
+    @Override
+    public void onTableChange(String table) {
+        if (TABLES.contains(table)) {
+            generation.invalidateAll(cache);
+        }
+    }
+
+    private List<MemberTeamDto> load(MemberSearchCondition condition) {
+        return List.copyOf(memberJpaRepository.search(condition));
+    }
+
+    private List<MemberTeamDto> cacheable(List<MemberTeamDto> rows) {
+        return rows.size() <= maxEntryRows ? rows : null;
+    }
+
+    public static class KeyStats {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        public double getHitRatio() {
+            long hits = getHits();
+            long requests = hits + getMisses();
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package study.querydsl.repository;
+
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.util.StringJoiner;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 검색 조건의 모양 = 어떤 필드가 값이 있는지 (username, teamName, ageGoe, ageLoe -> 비트 4개, 최대 16가지)
+ * 값이 달라도 모양이 같으면 같은 JPQL 이 만들어진다.
+ */
+public final class MemberSearchShape {
+
+    public static final int USERNAME = 1;
+    public static final int TEAM_NAME = 1 << 1;
+    public static final int AGE_GOE = 1 << 2;
+    public static final int AGE_LOE = 1 << 3;
+
+    public static final int SHAPES = 1 << 4; // 모양 가짓수
+
+    private MemberSearchShape() {
+    }
+
+    public static int of(MemberSearchCondition condition) {
+        int shape = 0;
+        if (hasText(condition.getUsername())) {
+            shape |= USERNAME;
+        }
+        if (hasText(condition.getTeamName())) {
+            shape |= TEAM_NAME;
+        }
+        if (condition.getAgeGoe() != null) {
+            shape |= AGE_GOE;
+        }
+        if (condition.getAgeLoe() != null) {
+            shape |= AGE_LOE;
+        }
+        return shape;
+    }
+
+    public static boolean has(int shape, int field) {
+        return (shape & field) != 0;
+    }
+
+    // 로그/메트릭 태그용 ex) "username+ageGoe", 조건이 없으면 "none"
+    public static String describe(int shape) {
+        StringJoiner joiner = new StringJoiner("+");
+        if (has(shape, USERNAME)) {
+            joiner.add("username");
+        }
+        if (has(shape, TEAM_NAME)) {
+            joiner.add("teamName");
+        }
+        if (has(shape, AGE_GOE)) {
+            joiner.add("ageGoe");
+        }
+        if (has(shape, AGE_LOE)) {
+            joiner.add("ageLoe");
+        }
+        return joiner.length() == 0 ? "none" : joiner.toString();
+    }
+}
@@ -0,0 +1,230 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.JPAProvider;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.monitoring.QueryMetrics;
+import study.querydsl.repository.support.TeamIdResolver;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 검색 조건 모양(MemberSearchShape)별로 JPQL 을 한번만 만들어 두고 요청마다 파라미터 값만 바인딩
+ * 매 요청마다 하던 querydsl 표현식 조립 + JPQL 직렬화를 생략하고,
+ * JPQL 문자열이 항상 같으니 hibernate 쿼리 플랜 캐시도 항상 hit 한다.
+ * InstrumentedJPAQuery 를 거치지 않으므로 실행 메트릭은 여기서 직접 기록 (QueryMetrics)
+ * teamName 은 팀 id 로 바꿔서 member.team_id (FK) 로 거름 -> 팀 컬럼을 조회하지 않는 쿼리는 조인 없음
+ */
+@Component
+public class MemberSearchTemplates {
+
+    private static final Param<String> USERNAME = new Param<>(String.class, "username");
+    @SuppressWarnings("rawtypes")
+    private static final Param<Collection> TEAM_IDS = new Param<>(Collection.class, "teamIds");
+    private static final Param<Integer> AGE_GOE = new Param<>(Integer.class, "ageGoe");
+    private static final Param<Integer> AGE_LOE = new Param<>(Integer.class, "ageLoe");
+
+    // (검색 조건, 팀 id 목록) -> 파라미터 값
+    private static final Map<Object, BiFunction<MemberSearchCondition, List<Long>, Object>> VALUES = Map.of(
+            USERNAME, (condition, teamIds) -> condition.getUsername(),
+            TEAM_IDS, (condition, teamIds) -> teamIds,
+            AGE_GOE, (condition, teamIds) -> condition.getAgeGoe(),
+            AGE_LOE, (condition, teamIds) -> condition.getAgeLoe());
+
+    private static final QMemberTeamDto PROJECTION = new QMemberTeamDto(
+            member.id.as("memberId"),
+            member.username,
+            member.age,
+            team.id.as("teamId"),
+            team.name.as("teamName"));
+
+    private enum Kind {
+        DTO, DTO_PAGE, ENTITY, COUNT
+    }
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final TeamIdResolver teamIdResolver;
+    private final QueryMetrics metrics;
+    private final ConcurrentMap<Integer, Template> templates = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public MemberSearchTemplates(EntityManager em, JPAQueryFactory queryFactory, TeamIdResolver teamIdResolver,
+                                 QueryMetrics metrics) {
+        this.em = em;
+        this.queryFactory = queryFactory; // 쿼리 조립/직렬화에만 사용 (실행은 Template)
+        this.teamIdResolver = teamIdResolver;
+        this.metrics = metrics;
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return execute(Kind.DTO, condition, "fetch", query -> toDto(query.getResultList()),
+                List::size, ArrayList::new);
+    }
+
+    // member.id desc 정렬 + offset/limit (searchPageComplex content 쿼리)
+    public List<MemberTeamDto> searchPage(MemberSearchCondition condition, long offset, int limit) {
+        return execute(Kind.DTO_PAGE, condition, "fetch", query -> toDto(query
+                        .setFirstResult(Math.toIntExact(offset))
+                        .setMaxResults(limit)
+                        .getResultList()),
+                List::size, ArrayList::new);
+    }
+
+    public List<Member> searchMember(MemberSearchCondition condition) {
+        return searchMember(condition, MemberFetchPlan.NONE);
+    }
+
+    // 엔티티 그래프는 힌트라 JPQL 은 그대로 -> 템플릿 공유
+    @SuppressWarnings("unchecked")
+    public List<Member> searchMember(MemberSearchCondition condition, MemberFetchPlan fetchPlan) {
+        return execute(Kind.ENTITY, condition, "fetch", query -> (List<Member>) fetchPlan.apply(query, em).getResultList(),
+                List::size, ArrayList::new);
+    }
+
+    public long count(MemberSearchCondition condition) {
+        return execute(Kind.COUNT, condition, "fetchCount", query -> (Long) query.getSingleResult(),
+                count -> 1, () -> 0L);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int getTemplateCount() {
+        return templates.size();
+    }
+
+    // 이름에 해당하는 팀이 없으면 결과가 없으니 쿼리를 실행하지 않음 (empty)
+    private <R> R execute(Kind kind, MemberSearchCondition condition, String operation,
+                          Function<Query, R> fetch, ToIntFunction<R> rows, Supplier<R> empty) {
+        List<Long> teamIds;
+        if (hasText(condition.getTeamName())) {
+            teamIds = teamIdResolver.resolve(condition.getTeamName());
+            if (teamIds.isEmpty()) {
+                return empty.get();
+            }
+        } else {
+            teamIds = null;
+        }
+        Template template = template(kind, condition);
+        return metrics.record(operation, () -> fetch.apply(template.createQuery(em, condition, teamIds)),
+                rows, template.jpql::length);
+    }
+
+    private Template template(Kind kind, MemberSearchCondition condition) {
+        int key = kind.ordinal() * MemberSearchShape.SHAPES + MemberSearchShape.of(condition);
+        Template template = templates.get(key);
+        if (template != null) {
+            hits.increment();
+            return template;
+        }
+        misses.increment();
+        return templates.computeIfAbsent(key, k -> compile(kind, k % MemberSearchShape.SHAPES));
+    }
+
+    private Template compile(Kind kind, int shape) {
+        List<Predicate> where = new ArrayList<>();
+        if (MemberSearchShape.has(shape, MemberSearchShape.USERNAME)) {
+            where.add(member.username.eq(USERNAME));
+        }
+        if (MemberSearchShape.has(shape, MemberSearchShape.TEAM_NAME)) {
+            where.add(Expressions.booleanTemplate("{0} in ({1})", member.team.id, TEAM_IDS));
+        }
+        if (MemberSearchShape.has(shape, MemberSearchShape.AGE_GOE)) {
+            where.add(member.age.goe(AGE_GOE));
+        }
+        if (MemberSearchShape.has(shape, MemberSearchShape.AGE_LOE)) {
+            where.add(member.age.loe(AGE_LOE));
+        }
+        Predicate[] predicates = where.toArray(new Predicate[0]);
+
+        JPAQuery<?> query;
+        switch (kind) {
+            case ENTITY:
+                query = queryFactory.selectFrom(member).where(predicates);
+                break;
+            case COUNT:
+                query = queryFactory.select(member.count()).from(member).where(predicates);
+                break;
+            case DTO_PAGE:
+                query = queryFactory.select(PROJECTION).from(member).leftJoin(member.team, team).where(predicates)
+                        .orderBy(member.id.desc());
+                break;
+            default:
+                query = queryFactory.select(PROJECTION).from(member).leftJoin(member.team, team).where(predicates);
+        }
+
+        JPQLSerializer serializer = new JPQLSerializer(JPAProvider.getTemplates(em), em);
+        serializer.serialize(query.getMetadata(), false, null);
+
+        // Param -> JPQL 파라미터 라벨(?1, ?2 ...) 매핑을 기억해 두고 값만 바꿔서 바인딩
+        Map<String, BiFunction<MemberSearchCondition, List<Long>, Object>> bindings = new LinkedHashMap<>();
+        serializer.getConstantToLabel().forEach((param, label) -> bindings.put(label, VALUES.get(param)));
+        return new Template(serializer.toString(), bindings);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<MemberTeamDto> toDto(List<?> rows) {
+        List<MemberTeamDto> result = new ArrayList<>(rows.size());
+        for (Object[] row : (List<Object[]>) rows) {
+            result.add(PROJECTION.newInstance(row));
+        }
+        return result;
+    }
+
+    private static final class Template {
+
+        private final String jpql;
+        private final Map<String, BiFunction<MemberSearchCondition, List<Long>, Object>> bindings;
+
+        private Template(String jpql, Map<String, BiFunction<MemberSearchCondition, List<Long>, Object>> bindings) {
+            this.jpql = jpql;
+            this.bindings = bindings;
+        }
+
+        Query createQuery(EntityManager em, MemberSearchCondition condition, List<Long> teamIds) {
+            Query query = em.createQuery(jpql);
+            bindings.forEach((label, value) -> {
+                // JPAUtil.setConstants 와 같은 규칙: 숫자 라벨은 위치 파라미터
+                if (label.chars().allMatch(Character::isDigit)) {
+                    query.setParameter(Integer.parseInt(label), value.apply(condition, teamIds));
+                } else {
+                    query.setParameter(label, value.apply(condition, teamIds));
+                }
+            });
+            return query;
+        }
+    }
+}
@@ -8,20 +8,24 @@ import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.entity.Member;
+import study.querydsl.repository.support.KeysetPage;
 import study.querydsl.repository.support.Querydsl4RepositorySupport;
+import study.querydsl.repository.support.TeamIdResolver;
 
 import java.util.List;
 
 import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.member;
-import static study.querydsl.entity.QTeam.team;
 
 @Repository
 public class MemberTestRepository extends Querydsl4RepositorySupport {
 
+    private final TeamIdResolver teamIdResolver;
 
-    public MemberTestRepository(Class<?> domainClass) {
+    // 회원 엔티티만 조회하고 팀 조건은 member.team_id 로 거르니 team 조인 없음
+    public MemberTestRepository(TeamIdResolver teamIdResolver) {
         super(Member.class);
+        this.teamIdResolver = teamIdResolver;
     }
 
     public List<Member> basicSelect() {
@@ -37,7 +41,6 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
 
     public Page<Member> searchPageByApplyPage(MemberSearchCondition condition, Pageable pageable) {
         JPAQuery<Member> query = selectFrom(member)
-                .leftJoin(member.team, team)
                 .where(
                         usernameEq(condition.getUsername()),
                         teamNameEq(condition.getTeamName()),
@@ -53,7 +56,6 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
     public Page<Member> applyPagination(MemberSearchCondition condition, Pageable pageable) {
         return applyPagination(pageable, query -> query
                         .selectFrom(member)
-                        .leftJoin(member.team, team)
                         .where(
                                 usernameEq(condition.getUsername()),
                                 teamNameEq(condition.getTeamName()),
@@ -66,7 +68,6 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
     public Page<Member> applyPagination2(MemberSearchCondition condition, Pageable pageable) {
         return applyPagination(pageable, contentQuery -> contentQuery
                 .selectFrom(member)
-                .leftJoin(member.team, team)
                 .where(
                         usernameEq(condition.getUsername()),
                         teamNameEq(condition.getTeamName()),
@@ -75,7 +76,6 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
                 ), countQuery -> countQuery
                 .select(member.id)
                 .from(member)
-                .leftJoin(member.team, team)
                 .where(
                         usernameEq(condition.getUsername()),
                         teamNameEq(condition.getTeamName()),
@@ -84,6 +84,18 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
         );
     }
 
+    // 키셋 페이징 (offset 없이 member.id 기준 seek)
+    public KeysetPage<Member> applyKeysetPagination(MemberSearchCondition condition, String cursor, int size) {
+        return applyKeysetPagination(cursor, size, member.id, Member::getId, query -> query
+                .selectFrom(member)
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                ));
+    }
+
 
 
 
@@ -92,7 +104,7 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
     }
 
     private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null;
+        return hasText(teamName) ? member.team.id.in(teamIdResolver.resolve(teamName)) : null;
     }
 
     private BooleanExpression ageGoe(Integer ageGoe) {
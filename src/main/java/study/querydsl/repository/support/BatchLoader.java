@@ -0,0 +1,139 @@
+package study.querydsl.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * 키 조회를 모아뒀다가 한번에 처리 (DataLoader)
+ * load 는 바로 future 를 돌려주고, 아래 경우에 모인 키를 batchFunction 한번으로 조회
+ * - 모인 키가 maxBatchSize 개가 됐을 때
+ * - dispatch() 를 부르거나 아직 안 끝난 future 를 join / get 할 때
+ * 타이머로 기다리지 않는 이유: EntityManager 는 호출한 스레드에 묶여 있어서 같은 스레드에서 조회해야 함
+ * 한번 조회한 키는 인스턴스가 살아있는 동안 캐시. 스레드 안전하지 않음 (요청 / 트랜잭션 하나에서만 사용)
+ */
+public class BatchLoader<K, V> {
+
+    private final Function<List<K>, Map<K, V>> batchFunction;
+    private final int maxBatchSize;
+    private final Map<K, CompletableFuture<V>> cache = new HashMap<>();
+    private final Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private int batchCount;
+
+    public BatchLoader(Function<List<K>, Map<K, V>> batchFunction, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        }
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * 없는 키는 null 로 완료
+     */
+    public CompletableFuture<V> load(K key) {
+        CompletableFuture<V> future = cache.get(key);
+        if (future != null) {
+            return future;
+        }
+        future = new DispatchingFuture<>(this);
+        cache.put(key, future);
+        pending.put(key, future);
+        if (pending.size() >= maxBatchSize) {
+            dispatch();
+        }
+        return future;
+    }
+
+    /**
+     * 키 순서대로 (없는 키는 null)
+     */
+    public CompletableFuture<List<V>> loadMany(Collection<K> keys) {
+        List<CompletableFuture<V>> futures = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            futures.add(load(key));
+        }
+        CompletableFuture<List<V>> result = new DispatchingFuture<>(this);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((ignored, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+                return;
+            }
+            List<V> values = new ArrayList<>(futures.size());
+            futures.forEach(f -> values.add(f.join()));
+            result.complete(values);
+        });
+        return result;
+    }
+
+    public void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<K, CompletableFuture<V>> batch = new LinkedHashMap<>(pending);
+        pending.clear();
+        batchCount++;
+        Map<K, V> values;
+        try {
+            values = batchFunction.apply(new ArrayList<>(batch.keySet()));
+        } catch (RuntimeException e) {
+            batch.keySet().forEach(cache::remove); // 실패한 키는 다음 load 때 다시 조회
+            batch.values().forEach(f -> f.completeExceptionally(e));
+            return;
+        }
+        batch.forEach((key, future) -> future.complete(values.get(key)));
+    }
+
+    public int getBatchCount() {
+        return batchCount;
+    }
+
+    // 기다리기 전에 모인 키를 먼저 조회 (안 그러면 영원히 완료되지 않음)
+    // thenApply / thenCompose 로 이어진 future 도 같은 타입이라 join 하면 dispatch 됨
+    private static final class DispatchingFuture<T> extends CompletableFuture<T> {
+
+        private final BatchLoader<?, ?> loader;
+
+        private DispatchingFuture(BatchLoader<?, ?> loader) {
+            this.loader = loader;
+        }
+
+        @Override
+        public <U> CompletableFuture<U> newIncompleteFuture() {
+            return new DispatchingFuture<>(loader);
+        }
+
+        @Override
+        public T join() {
+            dispatchUntilDone();
+            return super.join();
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            dispatchUntilDone();
+            return super.get();
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            dispatchUntilDone();
+            return super.get(timeout, unit);
+        }
+
+        // thenCompose 안에서 새로 load 한 키는 다음 dispatch 에서 조회 -> 완료되거나 모인 키가 없을 때까지 반복
+        private void dispatchUntilDone() {
+            while (!isDone() && !loader.pending.isEmpty()) {
+                loader.dispatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package study.querydsl.repository.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테이블 변경으로 통째로 무효화하는 caffeine 캐시의 키에 세대 번호를 붙임
+ * 무효화 도중에 실행중이던 조회가 옛날 값을 다시 넣어도 키의 세대가 달라서 읽히지 않음
+ */
+public class CacheGeneration {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public List<Object> key(Object key) {
+        return List.of(generation.get(), key);
+    }
+
+    // key() 로 만든 키에서 원래 키 (refresh 로더용)
+    public static Object unwrap(List<Object> key) {
+        return key.get(1);
+    }
+
+    public void invalidateAll(Cache<?, ?> cache) {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+}
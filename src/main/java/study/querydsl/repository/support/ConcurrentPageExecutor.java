@@ -0,0 +1,77 @@
+package study.querydsl.repository.support;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 페이징 count 쿼리를 별도 스레드의 읽기 전용 트랜잭션(= 다른 커넥션)에서 실행 (querydsl.page.concurrent-count.enabled=true 일 때만)
+ * count 는 content 가 페이지를 꽉 채워서 PageableExecutionUtils 가 total 을 요청할 때만 시작한다.
+ * 미리 시작해 두면 cancel(false) 로는 이미 실행중인 count 를 멈출 수 없어서, 부분/마지막 페이지마다
+ * 쓰지도 않을 count 가 커넥션 하나를 더 잡고 실행됐다 -> content 와 겹쳐서 실행되지는 않음
+ */
+@Component
+public class ConcurrentPageExecutor {
+
+    private final boolean enabled;
+    private final Executor executor;
+    private final TransactionTemplate readOnlyTx;
+
+    public ConcurrentPageExecutor(@Value("${querydsl.page.concurrent-count.enabled:false}") boolean enabled,
+                                  @Qualifier("pageCountExecutor") Executor executor,
+                                  PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.executor = executor;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public <T> Page<T> getPage(Supplier<List<T>> content, Pageable pageable, LongSupplier count) {
+        // 쓰기 트랜잭션 안이면 다른 커넥션에서는 아직 커밋 안된 변경이 안보임 -> 기존처럼 순서대로
+        if (!enabled || isReadWriteTransaction()) {
+            return PageableExecutionUtils.getPage(content.get(), pageable, count);
+        }
+        return PageableExecutionUtils.getPage(content.get(), pageable, () -> countAsync(count));
+    }
+
+    private long countAsync(LongSupplier count) {
+        CompletableFuture<Long> countFuture;
+        try {
+            countFuture = CompletableFuture.supplyAsync(() -> readOnlyTx.execute(status -> count.getAsLong()), executor);
+        } catch (RejectedExecutionException e) {
+            return count.getAsLong(); // 풀이 꽉 찼으면 호출한 스레드에서
+        }
+        return join(countFuture);
+    }
+
+    // count 쿼리 예외는 CompletionException 으로 감싸지 않고 순서대로 실행했을 때와 같은 예외로
+    private static long join(CompletableFuture<Long> countFuture) {
+        try {
+            return countFuture.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
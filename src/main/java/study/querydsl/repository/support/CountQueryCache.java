@@ -0,0 +1,56 @@
+package study.querydsl.repository.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.jpa.JPQLQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 페이징 count 쿼리 결과 캐시
+ * 조인 + 선택도가 낮은 조건이면 count 가 content 쿼리보다 비싸다 -> 같은 조건으로 페이지만 넘기는 경우 재사용
+ * 테이블 변경이 생기면 전부 무효화 (TableChangePublisher)
+ */
+@Component
+public class CountQueryCache implements TableChangeListener {
+
+    private final Cache<Object, Long> cache;
+    private final TableChangePublisher publisher;
+    private final CacheGeneration generation = new CacheGeneration();
+
+    public CountQueryCache(TableChangePublisher publisher,
+                           @Value("${querydsl.count-cache.ttl:30s}") Duration ttl,
+                           @Value("${querydsl.count-cache.maximum-size:1000}") long maximumSize) {
+        this.publisher = publisher;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public long fetchCount(Object key, LongSupplier countQuery) {
+        if (publisher.hasPendingChanges()) {
+            return countQuery.getAsLong(); // 이 트랜잭션에서 변경한 내용은 캐시에 없음
+        }
+        return cache.get(generation.key(key), k -> countQuery.getAsLong());
+    }
+
+    // 조건 객체가 없는 경우 count 쿼리의 select/from/join/where 모양 + 파라미터 값을 키로 사용
+    // distinct 나 select 한 컬럼이 다르면 count 도 다르다 (count(distinct ...))
+    public long fetchCount(JPQLQuery<?> countQuery) {
+        QueryMetadata metadata = countQuery.getMetadata();
+        String key = (metadata.isDistinct() ? "distinct " : "") + metadata.getProjection()
+                + " from " + metadata.getJoins() + " where " + metadata.getWhere()
+                + " group by " + metadata.getGroupBy() + " having " + metadata.getHaving();
+        return fetchCount(key, countQuery::fetchCount);
+    }
+
+    @Override
+    public void onTableChange(String table) {
+        generation.invalidateAll(cache);
+    }
+}
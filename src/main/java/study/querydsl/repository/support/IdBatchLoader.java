@@ -0,0 +1,86 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * id 여러 개로 엔티티 조회 (em.find 를 id 마다 부르지 않음)
+ * 1. 영속성 컨텍스트 / 2차 캐시에 있는 엔티티는 DB 안 감
+ * 2. 나머지만 in 쿼리로, querydsl.id-lookup.chunk-size 개씩 나눠서 조회
+ * 3. in 절 파라미터 수는 hibernate.query.in_clause_parameter_padding 으로 2의 거듭제곱에 맞춰짐
+ *    -> 목록 크기가 달라도 쿼리 플랜 캐시 / DB 실행 계획 재사용
+ * 결과는 입력 id 순서 (중복 id 는 한번, 없는 id 는 빠짐)
+ */
+@Component
+public class IdBatchLoader {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final int chunkSize;
+
+    public IdBatchLoader(EntityManager em, JPAQueryFactory queryFactory,
+                         @Value("${querydsl.id-lookup.chunk-size:512}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("querydsl.id-lookup.chunk-size must be positive: " + chunkSize);
+        }
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.chunkSize = chunkSize; // 2의 거듭제곱이면 패딩으로 늘어나는 파라미터가 없음
+    }
+
+    public <T> List<T> findAllByIds(EntityPath<T> entity, NumberPath<Long> idPath, Collection<Long> ids) {
+        Class<? extends T> type = entity.getType();
+        Map<Long, T> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(type);
+        PersistenceContext persistenceContext = session.getPersistenceContext();
+        Cache cache = em.getEntityManagerFactory().getCache();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Object managed = persistenceContext.getEntity(session.generateEntityKey(id, persister));
+            if (managed != null) {
+                if (em.contains(managed)) { // 이 트랜잭션에서 remove 한 엔티티는 제외
+                    found.put(id, type.cast(managed));
+                }
+            } else if (cache.contains(type, id)) {
+                found.put(id, em.find(type, id)); // 2차 캐시 hit -> SQL 없음
+            } else {
+                missing.add(id);
+            }
+        }
+
+        PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        for (int from = 0; from < missing.size(); from += chunkSize) {
+            List<Long> chunk = missing.subList(from, Math.min(from + chunkSize, missing.size()));
+            for (T loaded : queryFactory.selectFrom(entity).where(idPath.in(chunk)).fetch()) {
+                found.put((Long) util.getIdentifier(loaded), loaded);
+            }
+        }
+
+        List<T> result = new ArrayList<>(found.size());
+        for (Long id : new LinkedHashSet<>(ids)) {
+            T value = found.get(id);
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,57 @@
+package study.querydsl.repository.support;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 키셋(seek) 페이징 커서
+ * 클라이언트에는 방향 + 기준 id 를 base64 로 감싼 문자열만 노출한다.
+ */
+@Getter
+public class KeysetCursor {
+
+    public enum Direction {
+        NEXT, PREV
+    }
+
+    private final Direction direction;
+    private final long id;
+
+    private KeysetCursor(Direction direction, long id) {
+        this.direction = direction;
+        this.id = id;
+    }
+
+    public static KeysetCursor next(long id) {
+        return new KeysetCursor(Direction.NEXT, id);
+    }
+
+    public static KeysetCursor prev(long id) {
+        return new KeysetCursor(Direction.PREV, id);
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null; // 첫 페이지
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            String prefix = raw.substring(0, separator);
+            if (!"p".equals(prefix) && !"n".equals(prefix)) {
+                throw new IllegalArgumentException("unknown direction: " + prefix);
+            }
+            Direction direction = "p".equals(prefix) ? Direction.PREV : Direction.NEXT;
+            return new KeysetCursor(direction, Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid keyset cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        String raw = (direction == Direction.PREV ? "p:" : "n:") + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,25 @@
+package study.querydsl.repository.support;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class KeysetPage<T> {
+
+    private final List<T> content;
+    private final int size;
+    private final boolean hasNext;
+    private final boolean hasPrevious;
+    private final String nextCursor;
+    private final String prevCursor;
+
+    public KeysetPage(List<T> content, int size, String nextCursor, String prevCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = nextCursor != null;
+        this.hasPrevious = prevCursor != null;
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
+    }
+}
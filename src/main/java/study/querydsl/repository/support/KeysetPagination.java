@@ -0,0 +1,62 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.JPQLQuery;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * offset 대신 id 기준으로 seek 하는 키셋 페이징
+ * offset 페이징은 앞의 row 를 전부 읽고 버리기 때문에 뒤 페이지로 갈수록 느려진다.
+ * 정렬은 id 내림차순 고정 (searchPageComplex 와 동일), 넘겨주는 쿼리에는 orderBy 를 넣지 않는다.
+ */
+public final class KeysetPagination {
+
+    private KeysetPagination() {
+    }
+
+    public static <T> KeysetPage<T> fetch(JPQLQuery<T> query, NumberPath<Long> idPath,
+                                          Function<T, Long> idExtractor, String cursor, int size) {
+        Assert.isTrue(size > 0, "Page size must be greater than zero!");
+        KeysetCursor keyset = KeysetCursor.decode(cursor);
+        boolean backward = keyset != null && keyset.getDirection() == KeysetCursor.Direction.PREV;
+
+        if (keyset != null) {
+            query.where(backward ? idPath.gt(keyset.getId()) : idPath.lt(keyset.getId()));
+        }
+
+        // 한 건 더 읽어서 다음(이전) 페이지 존재 여부 확인 -> count 쿼리 필요 없음
+        List<T> rows = query
+                .orderBy(backward ? idPath.asc() : idPath.desc())
+                .limit(size + 1)
+                .fetch();
+
+        boolean hasMore = rows.size() > size;
+        List<T> content = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+        if (backward) {
+            Collections.reverse(content);
+        }
+        if (content.isEmpty()) {
+            if (keyset == null) {
+                return new KeysetPage<>(content, size, null, null);
+            }
+            // 빈 페이지라도 왔던 방향으로 되돌아갈 커서는 남김 (기준 id 의 row 부터 다시 보이도록 +-1)
+            return backward
+                    ? new KeysetPage<>(content, size, KeysetCursor.next(keyset.getId() + 1).encode(), null)
+                    : new KeysetPage<>(content, size, null, KeysetCursor.prev(keyset.getId() - 1).encode());
+        }
+
+        boolean hasNext = backward || hasMore;
+        boolean hasPrevious = backward ? hasMore : keyset != null;
+        Long firstId = idExtractor.apply(content.get(0));
+        Long lastId = idExtractor.apply(content.get(content.size() - 1));
+
+        return new KeysetPage<>(content, size,
+                hasNext ? KeysetCursor.next(lastId).encode() : null,
+                hasPrevious ? KeysetCursor.prev(firstId).encode() : null);
+    }
+}
@@ -1,6 +1,7 @@
 package study.querydsl.repository.support;
 import com.querydsl.core.types.EntityPath;
 import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.dsl.NumberPath;
 import com.querydsl.core.types.dsl.PathBuilder;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
@@ -32,6 +33,8 @@ public abstract class Querydsl4RepositorySupport {
     private Querydsl querydsl;
     private EntityManager entityManager;
     private JPAQueryFactory queryFactory;
+    private CountQueryCache countQueryCache;
+    private ConcurrentPageExecutor pageExecutor;
     public Querydsl4RepositorySupport(Class<?> domainClass) {
         Assert.notNull(domainClass, "Domain class must not be null!");
         this.domainClass = domainClass;
@@ -46,13 +49,27 @@ public abstract class Querydsl4RepositorySupport {
         this.entityManager = entityManager;
         this.querydsl = new Querydsl(entityManager, new
                 PathBuilder<>(path.getType(), path.getMetadata()));
-        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+    // 직접 생성하지 않고 공용 JPAQueryFactory 빈 사용 (쿼리 실행 메트릭)
+    @Autowired
+    public void setQueryFactory(JPAQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+    @Autowired
+    public void setCountQueryCache(CountQueryCache countQueryCache) {
+        this.countQueryCache = countQueryCache;
+    }
+    @Autowired
+    public void setPageExecutor(ConcurrentPageExecutor pageExecutor) {
+        this.pageExecutor = pageExecutor;
     }
     @PostConstruct
     public void validate() {
         Assert.notNull(entityManager, "EntityManager must not be null!");
         Assert.notNull(querydsl, "Querydsl must not be null!");
         Assert.notNull(queryFactory, "QueryFactory must not be null!");
+        Assert.notNull(countQueryCache, "CountQueryCache must not be null!");
+        Assert.notNull(pageExecutor, "PageExecutor must not be null!");
     }
     protected JPAQueryFactory getQueryFactory() {
         return queryFactory;
@@ -75,16 +92,22 @@ public abstract class Querydsl4RepositorySupport {
         List<T> content = getQuerydsl().applyPagination(pageable,
                 jpaQuery).fetch();
         return PageableExecutionUtils.getPage(content, pageable,
-                jpaQuery::fetchCount);
+                () -> countQueryCache.fetchCount(jpaQuery));
     }
     protected <T> Page<T> applyPagination(Pageable pageable,
                                           Function<JPAQueryFactory, JPAQuery> contentQuery, Function<JPAQueryFactory,
             JPAQuery> countQuery) {
         JPAQuery jpaContentQuery = contentQuery.apply(getQueryFactory());
-        List<T> content = getQuerydsl().applyPagination(pageable,
-                jpaContentQuery).fetch();
         JPAQuery countResult = countQuery.apply(getQueryFactory());
-        return PageableExecutionUtils.getPage(content, pageable,
-                countResult::fetchCount);
+        // count 쿼리가 따로 있으면 별도 읽기 전용 커넥션에서 실행 가능 (querydsl.page.concurrent-count.enabled)
+        return pageExecutor.getPage(() -> getQuerydsl().applyPagination(pageable,
+                jpaContentQuery).fetch(), pageable,
+                () -> countQueryCache.fetchCount(countResult));
+    }
+    protected <T> KeysetPage<T> applyKeysetPagination(String cursor, int size,
+                                                      NumberPath<Long> idPath, Function<T, Long> idExtractor,
+                                                      Function<JPAQueryFactory, JPAQuery<T>> contentQuery) {
+        JPAQuery<T> jpaContentQuery = contentQuery.apply(getQueryFactory());
+        return KeysetPagination.fetch(jpaContentQuery, idPath, idExtractor, cursor, size);
     }
 }
\ No newline at end of file
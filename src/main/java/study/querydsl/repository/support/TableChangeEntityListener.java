@@ -0,0 +1,25 @@
+package study.querydsl.repository.support;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreRemove;
+import java.util.Locale;
+
+/**
+ * em.persist / em.remove 시점에 바로 변경을 알림
+ * 시퀀스 전략은 insert 가 flush 때까지 미뤄지기 때문에 TableChangeInspector 만으로는
+ * save 직후 같은 트랜잭션의 조회가 캐시된 값을 볼 수 있다.
+ */
+public class TableChangeEntityListener {
+
+    private final TableChangePublisher publisher;
+
+    public TableChangeEntityListener(TableChangePublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PrePersist
+    @PreRemove
+    public void onChange(Object entity) {
+        publisher.publish(entity.getClass().getSimpleName().toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,53 @@
+package study.querydsl.repository.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Hibernate 가 실행하는 DML 에서 변경 대상 테이블을 뽑아 TableChangePublisher 로 전달
+ * em.persist 뿐 아니라 querydsl update/delete (벌크 연산) 도 여기서 잡힌다.
+ */
+@Component
+public class TableChangeInspector implements StatementInspector {
+
+    private final TableChangePublisher publisher;
+
+    public TableChangeInspector(TableChangePublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        String table = changedTable(sql);
+        if (table != null) {
+            publisher.publish(table);
+        }
+        return sql;
+    }
+
+    static String changedTable(String sql) {
+        String statement = sql.stripLeading();
+        String head = statement.substring(0, Math.min(statement.length(), 12)).toLowerCase(Locale.ROOT);
+        int start;
+        if (head.startsWith("insert into ")) {
+            start = 12;
+        } else if (head.startsWith("update ")) {
+            start = 7;
+        } else if (head.startsWith("delete from ")) {
+            start = 12;
+        } else {
+            return null; // select 등은 무시
+        }
+
+        int end = start;
+        while (end < statement.length()
+                && !Character.isWhitespace(statement.charAt(end))
+                && statement.charAt(end) != '(') {
+            end++;
+        }
+        String table = statement.substring(start, end).toLowerCase(Locale.ROOT);
+        return table.substring(table.lastIndexOf('.') + 1); // schema.table -> table
+    }
+}
@@ -0,0 +1,9 @@
+package study.querydsl.repository.support;
+
+/**
+ * 테이블 변경(insert/update/delete) 알림을 받아 캐시 등을 무효화할 때 구현
+ */
+public interface TableChangeListener {
+
+    void onTableChange(String table);
+}
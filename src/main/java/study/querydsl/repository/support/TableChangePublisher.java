@@ -0,0 +1,78 @@
+package study.querydsl.repository.support;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 테이블 변경을 TableChangeListener 들에게 전달
+ * 변경 시점에 한번, 트랜잭션이 끝난 뒤(commit/rollback)에 한번 더 알린다.
+ * -> 커밋 전에 다른 트랜잭션이 옛날 값을 다시 캐시해도 커밋 후 다시 지워짐
+ */
+@Component
+public class TableChangePublisher {
+
+    private final ObjectProvider<TableChangeListener> listenerProvider;
+    private volatile List<TableChangeListener> listeners;
+
+    // 리스너(캐시)들이 EntityManager 를 주입받는 경우가 있어서 순환참조 피하려고 지연 조회
+    public TableChangePublisher(ObjectProvider<TableChangeListener> listenerProvider) {
+        this.listenerProvider = listenerProvider;
+    }
+
+    public void publish(String table) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyListeners(table);
+            return;
+        }
+        // 이 트랜잭션에서 이미 알린 테이블이면 생략 (대량 insert 시 row 마다 캐시를 비우지 않도록)
+        // 그 사이 다른 트랜잭션이 캐시한 값은 트랜잭션 종료 후 알림에서 지워진다.
+        if (pendingTables().add(table)) {
+            notifyListeners(table);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션에서 이미 변경한 테이블이 있는지
+     * 있으면 이 트랜잭션은 공유 캐시와 다른 데이터를 보고 있으므로 캐시를 건너뛰어야 한다.
+     */
+    public boolean hasPendingChanges() {
+        Object tables = TransactionSynchronizationManager.getResource(this);
+        return tables != null && !((Set<?>) tables).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> pendingTables() {
+        Set<String> tables = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (tables != null) {
+            return tables;
+        }
+        Set<String> created = new HashSet<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TableChangePublisher.this);
+                created.forEach(TableChangePublisher.this::notifyListeners);
+            }
+        });
+        return created;
+    }
+
+    private void notifyListeners(String table) {
+        List<TableChangeListener> current = listeners;
+        if (current == null) {
+            current = listenerProvider.orderedStream().collect(Collectors.toList());
+            listeners = current;
+        }
+        for (TableChangeListener listener : current) {
+            listener.onTableChange(table);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.dml.SQLUpdateClause;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.EntityType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 벌크 update / delete 후 영향받은 엔티티만 영속성 컨텍스트 / 2차 캐시에서 제거
+ * 벌크 연산 후 em.flush(); em.clear(); 대신 사용 -> 관계없는 엔티티는 그대로 관리 상태 + 2차 캐시에 남음
+ *
+ * 1. flush (아직 반영 안된 변경이 벌크 연산에 덮어써지지 않게)
+ * 2. 조건에 맞는 id 를 먼저 조회 (H2 1.4 는 update ... returning 이 없음)
+ * 3. 조건 + 조회한 id 로 update / delete -> 조회 후 다른 트랜잭션이 바꿔서 조건에 안 맞게 된 row 는 건드리지 않음
+ *    (조회 후 새로 조건에 맞게 된 row 도 건드리지 않음)
+ * 4. 조회한 id 의 엔티티(또는 프록시)만 detach + 2차 캐시 evict -> 실제로 바뀐 row 를 항상 포함
+ *    반환 count 가 조회한 id 수보다 적으면 그만큼은 불필요하게 evict 된 것 (로그로 남김)
+ * 3 은 HQL 이 아니라 querydsl-sql 로 같은 트랜잭션 커넥션에서 실행 -> HQL 벌크 연산은 엔티티 리전과
+ * 관련 컬렉션 리전(Team.members 등)을 통째로 비우기 때문. 대신 hibernate 가 하던 나머지를 직접 한다.
+ * - 쿼리 캐시: 테이블의 query space 무효화 (커밋 후 한번 더)
+ * - 컬렉션 캐시: 바뀐 row 가 속한 owner(팀) 의 컬렉션만 evict
+ * - 검색 캐시: TableChangePublisher
+ * 주의) 영속성 컨텍스트에 있는 다른 엔티티의 컬렉션(Team.members 등)에 들어있는 인스턴스는 그대로 남는다.
+ */
+@Slf4j
+@Component
+public class TargetedBulkExecutor {
+
+    private static final int IN_CHUNK = 1000; // in 절 파라미터 수 제한
+
+    private final EntityManager em;
+    private final SQLQueryFactory queryFactory;
+    private final TableChangePublisher publisher;
+
+    public TargetedBulkExecutor(EntityManager em, SQLQueryFactory queryFactory, TableChangePublisher publisher) {
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.publisher = publisher;
+    }
+
+    /**
+     * ex) update(Member.class, SMember.member, SMember.member.memberId, SMember.member.age.lt(25),
+     *            clause -> clause.set(SMember.member.username, "비회원"))
+     */
+    @Transactional
+    public long update(Class<?> entityType, RelationalPath<?> table, NumberPath<Long> idPath, Predicate predicate,
+                       Consumer<SQLUpdateClause> updates) {
+        List<Long> ids = affectedIds(table, idPath, predicate);
+        Map<CollectionPersister, Set<Long>> owners = owners(entityType, table, idPath, ids);
+        long count = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            SQLUpdateClause clause = queryFactory.update(table);
+            updates.accept(clause);
+            count += clause.where(predicate, idPath.in(chunk)).execute();
+        }
+        owners(entityType, table, idPath, ids).forEach((collection, ownerIds) ->
+                owners.computeIfAbsent(collection, c -> new LinkedHashSet<>()).addAll(ownerIds)); // 옮겨간 팀도
+        evict(entityType, table, ids, owners);
+        return verified("update", table, ids, count);
+    }
+
+    @Transactional
+    public long delete(Class<?> entityType, RelationalPath<?> table, NumberPath<Long> idPath, Predicate predicate) {
+        List<Long> ids = affectedIds(table, idPath, predicate);
+        Map<CollectionPersister, Set<Long>> owners = owners(entityType, table, idPath, ids);
+        long count = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            count += queryFactory.delete(table).where(predicate, idPath.in(chunk)).execute();
+        }
+        evict(entityType, table, ids, owners);
+        return verified("delete", table, ids, count);
+    }
+
+    // 조회와 실행 사이에 다른 트랜잭션이 row 를 바꾸면 count 가 조회한 id 수와 달라짐 -> 실제 반영된 count 를 돌려줌
+    private static long verified(String operation, RelationalPath<?> table, List<Long> ids, long count) {
+        if (count != ids.size()) {
+            log.warn("[bulk] {} {}: selected {} ids but {} rows affected (changed concurrently)",
+                    operation, table.getTableName(), ids.size(), count);
+        }
+        return count;
+    }
+
+    private List<Long> affectedIds(RelationalPath<?> table, NumberPath<Long> idPath, Predicate predicate) {
+        em.flush();
+        return queryFactory
+                .select(idPath)
+                .from(table)
+                .where(predicate)
+                .fetch();
+    }
+
+    // 이 엔티티를 원소로 갖는 캐시 컬렉션(mappedBy 쪽) -> 해당 row 들의 FK 값 = 컬렉션 owner id
+    private Map<CollectionPersister, Set<Long>> owners(Class<?> entityType, RelationalPath<?> table,
+                                                       NumberPath<Long> idPath, List<Long> ids) {
+        Map<CollectionPersister, Set<Long>> owners = new LinkedHashMap<>();
+        for (CollectionPersister collection : cachedInverseCollections(entityType)) {
+            NumberPath<Long> ownerColumn = Expressions.numberPath(Long.class, table, collection.getKeyColumnNames()[0]);
+            Set<Long> ownerIds = new LinkedHashSet<>();
+            for (List<Long> chunk : chunks(ids)) {
+                ownerIds.addAll(queryFactory
+                        .select(ownerColumn).distinct()
+                        .from(table)
+                        .where(idPath.in(chunk), ownerColumn.isNotNull())
+                        .fetch());
+            }
+            owners.put(collection, ownerIds);
+        }
+        return owners;
+    }
+
+    private List<CollectionPersister> cachedInverseCollections(Class<?> entityType) {
+        return em.unwrap(SessionImplementor.class).getFactory().getMetamodel().collectionPersisters().values().stream()
+                .filter(collection -> collection.hasCache() && collection.isInverse()
+                        && collection.getKeyColumnNames().length == 1
+                        && collection.getElementType().isEntityType()
+                        && ((EntityType) collection.getElementType()).getAssociatedEntityName().equals(entityType.getName()))
+                .collect(Collectors.toList());
+    }
+
+    private void evict(Class<?> type, RelationalPath<?> table, List<Long> ids, Map<CollectionPersister, Set<Long>> owners) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(type);
+        PersistenceContext persistenceContext = session.getPersistenceContext();
+        Cache cache = session.getFactory().getCache();
+        for (Long id : ids) {
+            EntityKey key = session.generateEntityKey(id, persister);
+            Object managed = persistenceContext.getEntity(key);
+            if (managed == null) {
+                managed = persistenceContext.getProxy(key); // 아직 초기화 안된 프록시
+            }
+            if (managed != null) {
+                em.detach(managed);
+            }
+            cache.evictEntityData(type, id);
+        }
+        owners.forEach((collection, ownerIds) ->
+                ownerIds.forEach(ownerId -> cache.evictCollectionData(collection.getRole(), ownerId)));
+
+        // hibernate 를 거치지 않았으니 쿼리 캐시 무효화 (지금 + 커밋 후) 와 검색 캐시 무효화를 직접
+        String[] spaces = Arrays.stream(persister.getQuerySpaces()).map(String::valueOf).toArray(String[]::new);
+        session.getActionQueue().invalidateSpaces(spaces);
+        publisher.publish(table.getTableName().toLowerCase(Locale.ROOT));
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_CHUNK) {
+            chunks.add(ids.subList(from, Math.min(from + IN_CHUNK, ids.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,55 @@
+package study.querydsl.repository.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+/**
+ * 팀 이름 -> 팀 id 목록 메모리 캐시
+ * team 테이블이 바뀌면 전부 무효화 (TableChangePublisher)
+ */
+@Component
+public class TeamIdResolver implements TableChangeListener {
+
+    private static final String TEAM_TABLE = "team";
+
+    private final EntityManager em;
+    private final TableChangePublisher publisher;
+    private final Cache<List<Object>, List<Long>> cache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+    private final CacheGeneration generation = new CacheGeneration();
+
+    public TeamIdResolver(EntityManager em, TableChangePublisher publisher) {
+        this.em = em;
+        this.publisher = publisher;
+    }
+
+    /**
+     * 해당 이름의 팀이 없으면 빈 리스트
+     * 검색 조건의 team.name 비교 대신 이 id 들로 member.team_id (FK) 를 거르면
+     * 팀 컬럼을 조회하지 않는 쿼리는 team 조인이 필요 없음
+     */
+    public List<Long> resolve(String teamName) {
+        if (publisher.hasPendingChanges()) {
+            return query(teamName); // 이 트랜잭션에서 변경한 내용은 캐시에 없음
+        }
+        return cache.get(generation.key(teamName), k -> query(teamName));
+    }
+
+    private List<Long> query(String teamName) {
+        return List.copyOf(em.createQuery("select t.id from Team t where t.name = :name", Long.class)
+                .setParameter("name", teamName)
+                .getResultList());
+    }
+
+    @Override
+    public void onTableChange(String table) {
+        if (TEAM_TABLE.equals(table)) {
+            generation.invalidateAll(cache);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package study.querydsl.service;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.impl.JPADeleteClause;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * id 범위 청크 단위 벌크 update / delete
+ * 한번에 전체를 update 하면 락을 오래 잡고 undo 로그가 커진다 -> id 범위로 나눠서 청크마다 별도 트랜잭션(REQUIRES_NEW) 으로 커밋
+ * - 청크 실패 시 이미 커밋된 청크는 그대로, 남은 청크는 실행하지 않고 예외
+ * - 호출한 쪽 영속성 컨텍스트는 갱신되지 않으니 이후에 같은 엔티티를 쓰려면 em.clear()
+ * - 호출한 트랜잭션이 같은 row 에 락을 잡고 있으면 청크 트랜잭션이 기다리므로 트랜잭션 밖에서 호출
+ * 메트릭: querydsl.bulk.rows (영향받은 row), querydsl.bulk.chunk (청크 실행 시간)
+ */
+@Slf4j
+@Service
+public class BulkOperationService {
+
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate chunkTransaction;
+    private final Executor bulkExecutor;
+    private final MeterRegistry registry;
+    private final BulkOptions defaultOptions;
+    private final int maxParallelism;
+
+    public BulkOperationService(JPAQueryFactory queryFactory,
+                                PlatformTransactionManager transactionManager,
+                                @Qualifier("bulkExecutor") Executor bulkExecutor,
+                                MeterRegistry registry,
+                                @Value("${querydsl.bulk.chunk-size:1000}") int chunkSize,
+                                @Value("${querydsl.bulk.parallelism:1}") int parallelism,
+                                @Value("${querydsl.bulk.max-parallelism:4}") int maxParallelism,
+                                @Value("${querydsl.bulk.max-chunks-per-second:0}") double maxChunksPerSecond) {
+        this.queryFactory = queryFactory;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.bulkExecutor = bulkExecutor;
+        this.registry = registry;
+        this.defaultOptions = BulkOptions.of(chunkSize, parallelism, maxChunksPerSecond);
+        this.maxParallelism = maxParallelism;
+    }
+
+    public long update(EntityPath<?> entity, NumberPath<Long> idPath, Predicate predicate,
+                       Consumer<JPAUpdateClause> updates) {
+        return update(entity, idPath, predicate, updates, defaultOptions);
+    }
+
+    /**
+     * ex) update(member, member.id, member.age.lt(28), clause -> clause.set(member.username, "비회원"), options)
+     */
+    public long update(EntityPath<?> entity, NumberPath<Long> idPath, Predicate predicate,
+                       Consumer<JPAUpdateClause> updates, BulkOptions options) {
+        return execute("update", entity, idPath, predicate, options, (from, to) -> {
+            JPAUpdateClause clause = queryFactory.update(entity);
+            updates.accept(clause);
+            return clause.where(predicate, idPath.goe(from), idPath.lt(to)).execute();
+        });
+    }
+
+    public long delete(EntityPath<?> entity, NumberPath<Long> idPath, Predicate predicate) {
+        return delete(entity, idPath, predicate, defaultOptions);
+    }
+
+    public long delete(EntityPath<?> entity, NumberPath<Long> idPath, Predicate predicate, BulkOptions options) {
+        return execute("delete", entity, idPath, predicate, options, (from, to) -> {
+            JPADeleteClause clause = queryFactory.delete(entity);
+            return clause.where(predicate, idPath.goe(from), idPath.lt(to)).execute();
+        });
+    }
+
+    private long execute(String operation, EntityPath<?> entity, NumberPath<Long> idPath, Predicate predicate,
+                         BulkOptions options, ChunkStatement statement) {
+        Tuple range = queryFactory
+                .select(idPath.min(), idPath.max())
+                .from(entity)
+                .where(predicate)
+                .fetchOne();
+        Long minId = range == null ? null : range.get(idPath.min());
+        Long maxId = range == null ? null : range.get(idPath.max());
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+
+        String name = operation + " " + entity.getMetadata().getName();
+        long chunks = (maxId - minId) / options.getChunkSize() + 1;
+        Counter rows = registry.counter("querydsl.bulk.rows", "operation", operation, "entity", entity.getType().getSimpleName());
+        Timer chunkTimer = registry.timer("querydsl.bulk.chunk", "operation", operation, "entity", entity.getType().getSimpleName());
+        RateLimiter rateLimiter = new RateLimiter(options.getMaxChunksPerSecond());
+        AtomicLong affected = new AtomicLong();
+        AtomicInteger done = new AtomicInteger();
+
+        Chunk chunk = (from, to) -> {
+            long count = chunkTimer.record(() -> chunkTransaction.execute(status -> statement.execute(from, to)));
+            rows.increment(count);
+            long total = affected.addAndGet(count);
+            log.debug("[bulk] {} chunk {}/{} [{}, {}) -> {} rows (total {})", name, done.incrementAndGet(), chunks, from, to, count, total);
+        };
+
+        // bulkExecutor 풀/큐 크기가 max-parallelism 이라 그 이상 동시에 넣으면 거절됨
+        int parallelism = Math.min(options.getParallelism(), maxParallelism);
+        if (parallelism == 1) {
+            for (long from = minId; from <= maxId; from += options.getChunkSize()) {
+                rateLimiter.acquire();
+                chunk.run(from, from + options.getChunkSize());
+            }
+        } else {
+            runParallel(minId, maxId, options.getChunkSize(), parallelism, rateLimiter, chunk);
+        }
+        log.info("[bulk] {} {} rows in {} chunks", name, affected.get(), chunks);
+        return affected.get();
+    }
+
+    private void runParallel(long minId, long maxId, int chunkSize, int parallelism, RateLimiter rateLimiter, Chunk chunk) {
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        RejectedExecutionException rejected = null;
+        for (long from = minId; from <= maxId && !failed.get(); from += chunkSize) {
+            long start = from;
+            rateLimiter.acquire();
+            permits.acquireUninterruptibly();
+            try {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        chunk.run(start, start + chunkSize);
+                    } catch (RuntimeException e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        permits.release();
+                    }
+                }, bulkExecutor));
+            } catch (RejectedExecutionException e) {
+                // 다른 벌크 연산이 풀을 쓰는 중 -> 남은 청크는 실행하지 않고, 이미 넣은 청크는 끝날 때까지 기다림
+                permits.release();
+                rejected = e;
+                break;
+            }
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e; // 청크 예외가 우선
+        }
+        if (rejected != null) {
+            throw rejected;
+        }
+    }
+
+    private interface ChunkStatement {
+        long execute(long fromInclusive, long toExclusive);
+    }
+
+    private interface Chunk {
+        void run(long fromInclusive, long toExclusive);
+    }
+
+    // 청크 시작 간격을 1/maxChunksPerSecond 초 이상으로 (여러 스레드가 같이 써도 전체 기준)
+    private static final class RateLimiter {
+
+        private final long intervalNanos;
+        private long next = System.nanoTime();
+
+        private RateLimiter(double maxPerSecond) {
+            this.intervalNanos = maxPerSecond == 0 ? 0 : (long) (TimeUnit.SECONDS.toNanos(1) / maxPerSecond);
+        }
+
+        void acquire() {
+            if (intervalNanos == 0) {
+                return;
+            }
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                next = Math.max(next, now);
+                wait = next - now;
+                next += intervalNanos;
+            }
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("bulk operation interrupted", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package study.querydsl.service;
+
+import lombok.Getter;
+
+/**
+ * 청크 벌크 연산 옵션
+ * - chunkSize: 청크 하나가 맡는 id 범위 크기 (id 가 듬성듬성하면 실제 row 는 더 적음)
+ * - parallelism: 동시에 실행할 청크 수 (1 이면 호출한 스레드에서 순서대로, 최대 querydsl.bulk.max-parallelism)
+ * - maxChunksPerSecond: 초당 시작할 수 있는 청크 수 (0 이면 제한 없음)
+ */
+@Getter
+public class BulkOptions {
+
+    private final int chunkSize;
+    private final int parallelism;
+    private final double maxChunksPerSecond;
+
+    private BulkOptions(int chunkSize, int parallelism, double maxChunksPerSecond) {
+        if (chunkSize < 1 || parallelism < 1 || maxChunksPerSecond < 0) {
+            throw new IllegalArgumentException("invalid bulk options: chunkSize=" + chunkSize
+                    + ", parallelism=" + parallelism + ", maxChunksPerSecond=" + maxChunksPerSecond);
+        }
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.maxChunksPerSecond = maxChunksPerSecond;
+    }
+
+    public static BulkOptions of(int chunkSize, int parallelism, double maxChunksPerSecond) {
+        return new BulkOptions(chunkSize, parallelism, maxChunksPerSecond);
+    }
+}
@@ -0,0 +1,76 @@
+package study.querydsl.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberIngestRow;
+import study.querydsl.dto.ThroughputReport;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 회원 대량 저장
+ * - id: member_seq pooled-lo (시퀀스 한번에 50개)
+ * - insert: hibernate.jdbc.batch_size 단위 JDBC 배치 + order_inserts
+ * - batch-size 마다 flush/clear 해서 영속성 컨텍스트가 계속 커지지 않게
+ * - 팀은 clear 할 때마다 em.getReference 로 다시 잡고, Team.members 컬렉션에는 추가하지 않음
+ *   (detach 된 팀 컬렉션에 회원이 계속 쌓이면 flush/clear 해도 힙이 건수만큼 늘어남)
+ */
+@Slf4j
+@Service
+public class MemberBulkIngestService {
+
+    private final EntityManager em;
+    private final int batchSize;
+
+    public MemberBulkIngestService(EntityManager em,
+                                   @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize) {
+        this.em = em;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public ThroughputReport saveAll(Stream<MemberIngestRow> rows) {
+        long start = System.nanoTime();
+        long count = 0;
+        Map<Long, Team> teams = new HashMap<>(); // 현재 영속성 컨텍스트의 팀 프록시
+        Set<Long> teamIds = new HashSet<>();
+
+        Iterator<MemberIngestRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            MemberIngestRow row = iterator.next();
+            Team team = null;
+            if (row.getTeamId() != null) {
+                team = teams.computeIfAbsent(row.getTeamId(), id -> em.getReference(Team.class, id));
+                teamIds.add(row.getTeamId());
+            }
+            em.persist(Member.withoutBackReference(row.getUsername(), row.getAge(), team));
+            if (++count % batchSize == 0) {
+                em.flush();
+                em.clear();
+                teams.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+
+        // 컬렉션에 추가하지 않았으니 2차 캐시의 Team.members 는 직접 비움
+        Cache cache = em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        teamIds.forEach(id -> cache.evictCollectionData(Team.class.getName() + ".members", id));
+
+        ThroughputReport report = ThroughputReport.of("member ingest", count, start);
+        log.info("{}", report);
+        return report;
+    }
+}
@@ -0,0 +1,121 @@
+package study.querydsl.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+import study.querydsl.dto.ThroughputReport;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.TableChangePublisher;
+
+import javax.persistence.EntityManager;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 회원 CSV 대량 import - 엔티티(em.persist)를 거치지 않고 H2 CSVREAD 로 DB 안에서 insert ... select
+ * CSV 헤더: username,age,teamName (파일은 DB 서버가 읽을 수 있는 경로여야 함)
+ * 1. CSV -> 임시 테이블 (행 번호 rn)
+ * 2. 없는 팀 이름만 team 에 insert (id 는 hibernate_sequence)
+ * 3. CSV 에 나온 팀 이름 -> 팀 id 임시 테이블을 한번 만들어 두고 member insert 에서 조인 (행마다 team 조회 안함)
+ * 4. member_seq 를 50개 블록 단위로 받아서 (pooled-lo 와 같은 방식) member_id = 블록 시작값 + (rn - 1) % 50
+ *    -> hibernate 가 쓰는 id 와 겹치지 않고 시퀀스를 따로 맞출 필요 없음
+ * 5. JDBC 로 바꿨으니 2차 캐시 / 쿼리 캐시 / 검색 캐시(TableChangePublisher) 직접 무효화
+ *    2차 캐시는 커밋 후에 비움 -> 커밋 전에 비우면 그 사이 다른 트랜잭션이 옛 값을 다시 캐시할 수 있음
+ * 파일 전체가 한 트랜잭션 (중간에 실패하면 전부 롤백) -> 임시 테이블 + 커밋 전까지의 undo 로그가 row 수에 비례해서
+ * 메모리 DB 면 힙을 CSV 크기의 몇 배 정도 씀. 수백만 row 단위면 파일을 나눠서 여러 번 호출
+ */
+@Slf4j
+@Service
+public class MemberCsvImportService {
+
+    private static final int MEMBER_ALLOCATION_SIZE = 50; // Member @SequenceGenerator allocationSize 와 같아야 함
+
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+    private final TableChangePublisher publisher;
+    private final long maxBytes;
+
+    public MemberCsvImportService(EntityManager em, JdbcTemplate jdbcTemplate, TableChangePublisher publisher,
+                                  @Value("${querydsl.csv-import.max-size:100MB}") DataSize maxSize) {
+        this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+        this.publisher = publisher;
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    // 업로드 받을 수 있는 CSV 최대 크기 (임시 파일로 받기 전에 확인)
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Transactional
+    public ThroughputReport importCsv(Path file) {
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("csv file not found: " + file);
+        }
+        long start = System.nanoTime();
+        em.flush(); // 같은 트랜잭션에서 아직 반영 안된 변경을 먼저
+
+        // TRANSACTIONAL: H2 DDL 은 트랜잭션을 커밋하는데 임시 테이블은 예외로
+        jdbcTemplate.execute("create local temporary table if not exists member_import ("
+                + "rn bigint primary key, username varchar(255), age int, team_name varchar(255)) "
+                + "on commit drop transactional");
+        jdbcTemplate.execute("create local temporary table if not exists member_import_block ("
+                + "bn bigint primary key, base bigint) "
+                + "on commit drop transactional");
+        jdbcTemplate.execute("create local temporary table if not exists member_import_team ("
+                + "name varchar(255) primary key, team_id bigint) "
+                + "on commit drop transactional");
+        jdbcTemplate.update("delete from member_import");
+        jdbcTemplate.update("delete from member_import_block");
+        jdbcTemplate.update("delete from member_import_team");
+
+        int rows = jdbcTemplate.update("insert into member_import (rn, username, age, team_name) "
+                + "select rownum(), username, age, teamname from csvread('"
+                + file.toAbsolutePath().toString().replace("'", "''") + "', null, 'charset=UTF-8')");
+
+        int teams = jdbcTemplate.update("insert into team (id, name) "
+                + "select next value for hibernate_sequence, n.name "
+                + "from (select distinct team_name as name from member_import where team_name <> '') n "
+                + "where not exists (select 1 from team t where t.name = n.name)");
+        jdbcTemplate.update("insert into member_import_team (name, team_id) "
+                + "select t.name, min(t.id) from team t "
+                + "where t.name in (select team_name from member_import where team_name <> '') "
+                + "group by t.name");
+
+        int blocks = (rows + MEMBER_ALLOCATION_SIZE - 1) / MEMBER_ALLOCATION_SIZE;
+        jdbcTemplate.update("insert into member_import_block (bn, base) "
+                + "select rownum(), next value for member_seq from system_range(1, ?)", blocks);
+        int members = jdbcTemplate.update("insert into member (member_id, username, age, team_id) "
+                + "select b.base + mod(i.rn - 1, " + MEMBER_ALLOCATION_SIZE + "), i.username, coalesce(i.age, 0), n.team_id "
+                + "from member_import i join member_import_block b on b.bn = (i.rn - 1) / " + MEMBER_ALLOCATION_SIZE + " + 1 "
+                + "left join member_import_team n on n.name = i.team_name");
+
+        evictCaches();
+
+        ThroughputReport report = ThroughputReport.of("member import", members, start);
+        log.info("{} (new teams: {})", report, teams);
+        return report;
+    }
+
+    private void evictCaches() {
+        Cache cache = em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.evictCollectionData(Team.class.getName() + ".members"); // 기존 팀의 members 컬렉션 캐시
+                cache.evictQueryRegions();
+            }
+        });
+        // 검색 캐시는 트랜잭션이 끝난 뒤 TableChangePublisher 가 한번 더 알림
+        publisher.publish("team");
+        publisher.publish("member");
+    }
+}
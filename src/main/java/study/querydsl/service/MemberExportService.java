@@ -0,0 +1,100 @@
+package study.querydsl.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.ThroughputReport;
+import study.querydsl.repository.MemberJpaRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 검색 결과를 gzip 압축한 CSV 로 바로 내려보냄 (수백만 건 export)
+ * - 조회: MemberJpaRepository.searchStream (forward-only 커서, querydsl.export.fetch-size)
+ * - 쓰기: 문자 버퍼(querydsl.export.buffer-size)가 찰 때마다 압축해서 내보냄 -> 건수와 상관없이 메모리 일정
+ * - 클라이언트가 끊으면 쓰기에서 IOException -> 커서를 닫고 중단
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class MemberExportService {
+
+    private static final String HEADER = "memberId,username,age,teamId,teamName";
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final int fetchSize;
+    private final int bufferSize;
+
+    public MemberExportService(MemberJpaRepository memberJpaRepository,
+                               @Value("${querydsl.export.fetch-size:2000}") int fetchSize,
+                               @Value("${querydsl.export.buffer-size:65536}") int bufferSize) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.fetchSize = fetchSize;
+        this.bufferSize = bufferSize;
+    }
+
+    public ThroughputReport writeCsvGzip(MemberSearchCondition condition, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+
+        try (Stream<MemberTeamDto> stream = memberJpaRepository.searchStream(condition, fetchSize);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(
+                     new GZIPOutputStream(out, bufferSize), StandardCharsets.UTF_8), bufferSize)) {
+            writer.write(HEADER);
+            writer.write('\n');
+
+            Iterator<MemberTeamDto> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                writeRow(writer, iterator.next());
+                rows++;
+            }
+        } catch (IOException e) {
+            log.info("member export cancelled after {} rows: {}", rows, e.getMessage());
+            throw e;
+        }
+
+        ThroughputReport report = ThroughputReport.of("member export", rows, start);
+        log.info("{}", report);
+        return report;
+    }
+
+    private static void writeRow(Writer writer, MemberTeamDto dto) throws IOException {
+        writer.write(String.valueOf(dto.getMemberID()));
+        writer.write(',');
+        writeText(writer, dto.getUsername());
+        writer.write(',');
+        writer.write(Integer.toString(dto.getAge()));
+        writer.write(',');
+        if (dto.getTeamId() != null) {
+            writer.write(dto.getTeamId().toString());
+        }
+        writer.write(',');
+        writeText(writer, dto.getTeamName());
+        writer.write('\n');
+    }
+
+    // RFC 4180: 쉼표 / 따옴표 / 줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두번
+    private static void writeText(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,71 @@
+package study.querydsl.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberJpaRepository;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 검색 결과를 NDJSON(한 줄에 json 하나)으로 바로 내려보냄
+ * 전체 결과를 List 로 모으지 않기 때문에 결과 건수와 상관없이 힙 사용량이 일정하다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class MemberStreamService {
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final EntityManager em;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final int clearInterval;
+
+    public MemberStreamService(MemberJpaRepository memberJpaRepository, EntityManager em, ObjectMapper objectMapper,
+                               @Value("${querydsl.stream.fetch-size:500}") int fetchSize,
+                               @Value("${querydsl.stream.clear-interval:1000}") int clearInterval) {
+        if (clearInterval < 1) {
+            throw new IllegalArgumentException("querydsl.stream.clear-interval must be positive: " + clearInterval);
+        }
+        this.memberJpaRepository = memberJpaRepository;
+        this.em = em;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.clearInterval = clearInterval;
+    }
+
+    public long writeNdjson(MemberSearchCondition condition, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(MemberTeamDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long rows = 0;
+
+        try (Stream<MemberTeamDto> stream = memberJpaRepository.searchStream(condition, fetchSize);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<MemberTeamDto> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+
+                // 주기적으로 내보내고 영속성 컨텍스트를 비워서 메모리가 쌓이지 않게
+                if (++rows % clearInterval == 0) {
+                    generator.flush();
+                    em.clear();
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,62 @@
+package study.querydsl.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 작업마다 가상 스레드를 만들되 ThreadPoolTaskExecutor 처럼 동시 실행 수 / 대기 수를 제한
+ * - 동시 실행은 maxConcurrency 까지 (커넥션 풀을 다 잡아먹지 않게), 나머지는 세마포어에서 대기 (pinning 없음)
+ * - 대기까지 꽉 차면 RejectedExecutionException, callerRuns 면 호출한 스레드에서 실행
+ */
+public class BoundedVirtualThreadExecutor implements Executor, AutoCloseable {
+
+    private final ExecutorService delegate;
+    private final Semaphore running;
+    private final Semaphore admitted;
+    private final boolean callerRuns;
+
+    public BoundedVirtualThreadExecutor(String namePrefix, int maxConcurrency, int queueCapacity, boolean callerRuns) {
+        ThreadFactory factory = Thread.ofVirtual().name(namePrefix, 0).factory();
+        this.delegate = Executors.newThreadPerTaskExecutor(factory);
+        this.running = new Semaphore(maxConcurrency);
+        this.admitted = new Semaphore(maxConcurrency + queueCapacity);
+        this.callerRuns = callerRuns;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!admitted.tryAcquire()) {
+            if (callerRuns) {
+                task.run();
+                return;
+            }
+            throw new RejectedExecutionException("virtual thread executor is full");
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    running.acquireUninterruptibly();
+                    try {
+                        task.run();
+                    } finally {
+                        running.release();
+                    }
+                } finally {
+                    admitted.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            admitted.release(); // 종료 중
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        delegate.shutdown();
+    }
+}
@@ -0,0 +1,70 @@
+package study.querydsl.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.Executors;
+
+/**
+ * 가상 스레드 실행 모드 (java 21, ./gradlew bootRun -PvirtualThreads)
+ * - 톰캣 요청 처리 스레드 -> 요청마다 가상 스레드 (스레드 풀 크기가 동시 요청 수를 제한하지 않음)
+ * - AsyncConfig 의 비동기 실행기들 -> 같은 이름/같은 제한의 BoundedVirtualThreadExecutor
+ *
+ * pinning: JDBC 드라이버(H2)와 hibernate 일부는 synchronized 안에서 I/O 를 해서 그동안 캐리어 스레드를 잡고 있는다.
+ * 동시에 JDBC I/O 를 하는 스레드는 커넥션 풀 크기를 넘지 않으니 캐리어 스레드 수를 풀 크기보다 크게 잡아서
+ * 고정된 캐리어 때문에 다른 가상 스레드가 멈추지 않게 한다. (커넥션 대기는 hikari 내부 j.u.c 라 pinning 없음)
+ */
+@Configuration
+@ConditionalOnProperty(name = "querydsl.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final String PARALLELISM = "jdk.virtualThreadScheduler.parallelism";
+
+    // 톰캣이 뜨기 전 (첫 가상 스레드가 만들어지기 전) 에 설정돼야 함
+    public VirtualThreadConfig(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        if (System.getProperty(PARALLELISM) == null) {
+            int parallelism = Math.max(Runtime.getRuntime().availableProcessors(), connectionPoolSize + 2);
+            System.setProperty(PARALLELISM, String.valueOf(parallelism));
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // AsyncConfig.applicationTaskExecutor 와 같은 이유로 직접 등록 - MVC 비동기 처리 / @Async 도 가상 스레드로
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public TaskExecutorAdapter applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public BoundedVirtualThreadExecutor pageCountExecutor(@Value("${querydsl.page.concurrent-count.pool-size:4}") int poolSize,
+                                                          @Value("${querydsl.page.concurrent-count.queue-capacity:100}") int queueCapacity) {
+        return new BoundedVirtualThreadExecutor("page-count-", poolSize, queueCapacity, false);
+    }
+
+    @Bean
+    public BoundedVirtualThreadExecutor searchRefreshExecutor(@Value("${querydsl.search-cache.refresh-pool-size:2}") int poolSize,
+                                                              @Value("${querydsl.search-cache.refresh-queue-capacity:100}") int queueCapacity) {
+        return new BoundedVirtualThreadExecutor("search-refresh-", poolSize, queueCapacity, true);
+    }
+
+    @Bean
+    public BoundedVirtualThreadExecutor slowQueryExplainExecutor() {
+        return new BoundedVirtualThreadExecutor("slow-query-explain-", 1, 10, false);
+    }
+
+    @Bean
+    public BoundedVirtualThreadExecutor bulkExecutor(@Value("${querydsl.bulk.max-parallelism:4}") int poolSize) {
+        return new BoundedVirtualThreadExecutor("bulk-", poolSize, poolSize, false);
+    }
+}
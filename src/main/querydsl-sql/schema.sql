@@ -0,0 +1,15 @@
+-- querydsl-sql Q 타입 생성용 스키마 (hibernate ddl-auto 가 만드는 member/team 과 동일하게 유지)
+create table team (
+    id bigint not null,
+    name varchar(255),
+    primary key (id)
+);
+
+create table member (
+    member_id bigint not null,
+    age integer not null,
+    username varchar(255),
+    team_id bigint,
+    primary key (member_id),
+    constraint fk_member_team foreign key (team_id) references team (id)
+);
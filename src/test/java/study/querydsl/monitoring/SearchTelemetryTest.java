@@ -0,0 +1,64 @@
+package study.querydsl.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchTelemetryTest {
+
+    @Test
+    public void recordByShapeTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SearchTelemetry telemetry = new SearchTelemetry(registry);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        condition.setAgeGoe(20);
+
+        telemetry.record(SearchTelemetry.SEARCH, condition, null, () -> List.of("a", "b"), List::size);
+        telemetry.record(SearchTelemetry.SEARCH, condition, null, () -> List.of("c"), List::size);
+        telemetry.record(SearchTelemetry.PAGE_COMPLEX, condition, PageRequest.of(12, 10), List::of, List::size);
+
+        assertThat(registry.get("member.search")
+                .tags("operation", "search", "shape", "teamName+ageGoe", "depth", "unpaged", "outcome", "success")
+                .timer().count()).isEqualTo(2);
+        assertThat(registry.get("member.search.rows")
+                .tags("operation", "search", "shape", "teamName+ageGoe", "depth", "unpaged")
+                .summary().totalAmount()).isEqualTo(3);
+        assertThat(registry.get("member.search")
+                .tags("operation", "searchPageComplex", "depth", "10-99")
+                .timer().count()).isEqualTo(1);
+        assertThat(telemetry.getShapes()).hasSize(2);
+    }
+
+    @Test
+    public void recordFailureTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SearchTelemetry telemetry = new SearchTelemetry(registry);
+
+        assertThatThrownBy(() -> telemetry.record(SearchTelemetry.SEARCH, new MemberSearchCondition(), null,
+                () -> {
+                    throw new IllegalStateException("db down");
+                }, List::size))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get("member.search")
+                .tags("operation", "search", "shape", "none", "outcome", "error")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.find("member.search").tags("outcome", "success").timer()).isNull();
+    }
+
+    @Test
+    public void depthTest() {
+        assertThat(SearchTelemetry.depth(null)).isEqualTo("unpaged");
+        assertThat(SearchTelemetry.depth(PageRequest.of(0, 10))).isEqualTo("0");
+        assertThat(SearchTelemetry.depth(PageRequest.of(9, 10))).isEqualTo("1-9");
+        assertThat(SearchTelemetry.depth(PageRequest.of(100, 10))).isEqualTo("100+");
+    }
+}
@@ -0,0 +1,53 @@
+package study.querydsl.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryLogTest {
+
+    @Test
+    public void ringBufferTest() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(null, List.of(), Runnable::run, false, Duration.ofMinutes(10), 2);
+
+        slowQueryLog.record(new SlowQuery("MemberJpaRepository.search", 600, "select 1", "select 1", List.of()));
+        slowQueryLog.record(new SlowQuery("MemberJpaRepository.search", 700, "select 2", "select 2", List.of()));
+        slowQueryLog.record(new SlowQuery("MemberRepositoryImpl.searchPageComplex", 800, "select 3", "select 3", List.of()));
+
+        // 최신 순, 오래된 것부터 밀려남
+        assertThat(slowQueryLog.getRecent()).extracting("sql").containsExactly("select 3", "select 2");
+    }
+
+    @Test
+    public void explainAgainAfterRejectionTest() {
+        List<Runnable> submitted = new ArrayList<>();
+        boolean[] full = {true};
+        Executor executor = task -> {
+            if (full[0]) {
+                throw new RejectedExecutionException("full");
+            }
+            submitted.add(task);
+        };
+        SlowQueryLog slowQueryLog = new SlowQueryLog(null, List.of(), executor, true, Duration.ofMinutes(10), 10);
+
+        // 대기열이 꽉 차서 explain 못 한 SQL 은 explain-interval 을 기다리지 않고 다음에 다시 시도
+        slowQueryLog.record(new SlowQuery("c", 600, "select 1", "select 1", List.of()));
+        full[0] = false;
+        slowQueryLog.record(new SlowQuery("c", 600, "select 1", "select 1", List.of()));
+        slowQueryLog.record(new SlowQuery("c", 600, "select 1", "select 1", List.of()));
+
+        assertThat(submitted).hasSize(1);
+    }
+
+    @Test
+    public void selectOnlyTest() {
+        assertThat(new SlowQuery("c", 1, "  select * from member", "", List.of()).isSelect()).isTrue();
+        assertThat(new SlowQuery("c", 1, "update member set age = ?", "", List.of(1)).isSelect()).isFalse();
+    }
+}
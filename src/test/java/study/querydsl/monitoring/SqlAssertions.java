@@ -0,0 +1,59 @@
+package study.querydsl.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 테스트에서 쿼리 예산 고정용
+ * <pre>
+ * em.flush(); em.clear();   // 쌓여있던 insert 가 같이 세지지 않도록
+ * try (SqlCountScope ignored = resetSqlCount()) {
+ *     memberRepository.search(condition);
+ *     assertSqlCount(1);
+ * }
+ * </pre>
+ * 닫지 않으면 이후 테스트에서도 같은 스레드의 SQL 을 계속 기록하므로 try-with-resources 나 stopSqlCount()
+ */
+public final class SqlAssertions {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private SqlAssertions() {
+    }
+
+    public static SqlCountScope resetSqlCount() {
+        stopSqlCount();
+        CURRENT.set(SqlStatementCounter.start("test"));
+        return SqlAssertions::stopSqlCount;
+    }
+
+    public static void stopSqlCount() {
+        SqlStatementStats previous = CURRENT.get();
+        if (previous != null) {
+            SqlStatementCounter.stop(previous);
+            CURRENT.remove();
+        }
+    }
+
+    public static void assertSqlCount(int expected) {
+        assertThat(current().getCount()).as("executed statements").isEqualTo(expected);
+    }
+
+    public static void assertSelectCount(int expected) {
+        assertThat(current().getSelectCount()).as("executed selects").isEqualTo(expected);
+    }
+
+    public static void assertNoDuplicateSql() {
+        assertThat(current().getDuplicates()).as("duplicate statements").isEmpty();
+    }
+
+    public interface SqlCountScope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static SqlStatementStats current() {
+        SqlStatementStats stats = CURRENT.get();
+        assertThat(stats).as("call resetSqlCount() first").isNotNull();
+        return stats;
+    }
+}
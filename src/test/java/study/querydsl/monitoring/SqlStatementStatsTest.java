@@ -0,0 +1,26 @@
+package study.querydsl.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementStatsTest {
+
+    private static final String SQL = "select t.id, t.name from team t where t.id=?";
+
+    @Test
+    public void nPlusOneNeedsDifferentValues() {
+        SqlStatementStats stats = new SqlStatementStats("test");
+        for (int i = 0; i < 5; i++) {
+            stats.record(SQL, "select t.id, t.name from team t where t.id=1");
+        }
+        // 같은 값 반복은 중복 쿼리로만
+        assertThat(stats.getNPlusOneSuspects(5)).isEmpty();
+        assertThat(stats.getDuplicates()).hasSize(1);
+
+        for (int i = 2; i <= 5; i++) {
+            stats.record(SQL, "select t.id, t.name from team t where t.id=" + i);
+        }
+        assertThat(stats.getNPlusOneSuspects(5)).containsExactly("5x " + SQL);
+    }
+}
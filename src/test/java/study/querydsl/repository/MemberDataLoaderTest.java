@@ -0,0 +1,56 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.monitoring.SqlAssertions.SqlCountScope;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.monitoring.SqlAssertions.assertSqlCount;
+import static study.querydsl.monitoring.SqlAssertions.resetSqlCount;
+
+@SpringBootTest
+@Transactional
+class MemberDataLoaderTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    public void loadTeamTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        Member member1 = new Member("member1", 10, teamA);
+        Member member2 = new Member("member2", 20, teamB);
+        em.persist(member1);
+        em.persist(member2);
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        try (SqlCountScope ignored = resetSqlCount()) {
+            // 따로따로 부른 조회가 member 한번, team 한번으로 묶임
+            CompletableFuture<Member> find1 = memberRepository.loadById(member1.getId());
+            CompletableFuture<Member> find2 = memberRepository.loadById(member2.getId());
+            List<CompletableFuture<Team>> teams = List.of(find1.join(), find2.join()).stream()
+                    .map(memberRepository::loadTeam)
+                    .collect(Collectors.toList());
+
+            assertThat(teams.get(0).join().getName()).isEqualTo("teamA");
+            assertThat(teams.get(1).join().getName()).isEqualTo("teamB");
+            assertSqlCount(2);
+        }
+    }
+}
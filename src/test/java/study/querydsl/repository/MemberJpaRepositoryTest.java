@@ -1,5 +1,6 @@
 package study.querydsl.repository;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,13 +10,19 @@ import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
+import study.querydsl.monitoring.SqlAssertions.SqlCountScope;
 
 import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static study.querydsl.monitoring.SqlAssertions.assertSqlCount;
+import static study.querydsl.monitoring.SqlAssertions.resetSqlCount;
 
 @SpringBootTest
 @Transactional
@@ -25,6 +32,10 @@ class MemberJpaRepositoryTest {
     EntityManager em;
     @Autowired
     MemberJpaRepository memberJpaRepository;
+    @Autowired
+    MemberSearchTemplates searchTemplates;
+    @Autowired
+    MeterRegistry meterRegistry;
 
     @Test
     public void basicTest() {
@@ -72,6 +83,157 @@ class MemberJpaRepositoryTest {
         assertThat(result).extracting("username").containsExactly("member3", "member4");
     }
 
+    @Test
+    public void searchTemplateReuseTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        MemberSearchCondition conditionA = new MemberSearchCondition();
+        conditionA.setTeamName("teamA");
+        assertThat(memberJpaRepository.search(conditionA)).extracting("username").containsExactly("member1", "member2");
+
+        long hits = searchTemplates.getHitCount();
+
+        // 값만 다르고 모양이 같으면 같은 템플릿 재사용
+        MemberSearchCondition conditionB = new MemberSearchCondition();
+        conditionB.setTeamName("teamB");
+        assertThat(memberJpaRepository.search(conditionB)).extracting("username").containsExactly("member3", "member4");
+        assertThat(searchTemplates.getHitCount()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    public void searchStreamTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+
+        try (Stream<MemberTeamDto> stream = memberJpaRepository.searchStream(condition, 2)) {
+            List<String> usernames = stream.map(MemberTeamDto::getUsername).collect(Collectors.toList());
+            assertThat(usernames).containsExactlyInAnyOrder("member2", "member3", "member4");
+        }
+    }
+
+    @Test
+    public void queryMetricsTest() {
+        memberJpaRepository.save(new Member("member1", 10));
+        memberJpaRepository.save(new Member("member2", 20));
+
+        // 공용 JPAQueryFactory 빈 -> 실행 시간 / row 수 / 호출한 리포지토리 메서드가 기록됨
+        List<Member> result = memberJpaRepository.findAll_Querydsl();
+
+        assertThat(meterRegistry.get("querydsl.query")
+                .tags("operation", "fetch", "caller", "MemberJpaRepository.findAll_Querydsl")
+                .timer().count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("querydsl.query.rows")
+                .tags("operation", "fetch", "caller", "MemberJpaRepository.findAll_Querydsl")
+                .summary().max()).isGreaterThanOrEqualTo(result.size());
+
+        // 미리 만든 JPQL 템플릿으로 실행하는 검색도 호출한 리포지토리 메서드로 기록
+        memberJpaRepository.search(new MemberSearchCondition());
+
+        assertThat(meterRegistry.get("querydsl.query")
+                .tags("operation", "fetch", "caller", "MemberJpaRepository.search")
+                .timer().count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("querydsl.query.jpql.length")
+                .tags("operation", "fetch", "caller", "MemberJpaRepository.search")
+                .summary().max()).isPositive();
+    }
+
+    @Test
+    public void searchUnknownTeamTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+
+        // 없는 팀 이름 -> 팀 id 가 없으니 쿼리 없이 빈 결과
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamUnknown");
+
+        assertThat(memberJpaRepository.search(condition)).isEmpty();
+        assertThat(memberJpaRepository.searchMember(condition)).isEmpty();
+        assertThat(memberJpaRepository.searchByBuilder(condition)).isEmpty();
+        assertThat(searchTemplates.count(condition)).isZero();
+    }
+
+    @Test
+    public void fetchPlanTest() {
+        persistMembers();
+        em.flush();
+        em.clear();
+
+        List<Member> result = memberJpaRepository.searchMember(new MemberSearchCondition(), MemberFetchPlan.TEAM);
+
+        PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        assertThat(result).hasSize(4);
+        assertThat(result).allMatch(m -> util.isLoaded(m.getTeam()), "엔티티 그래프로 team 같이 로딩");
+    }
+
+    @Test
+    public void batchFetchTest() {
+        persistMembers();
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll(); // 2차 캐시에서 team 을 꺼내지 않게
+
+        List<Member> result = memberJpaRepository.findAll(MemberFetchPlan.NONE);
+        try (SqlCountScope ignored = resetSqlCount()) {
+            result.forEach(m -> m.getTeam().getName());
+
+            // 팀 2개를 default_batch_fetch_size 로 한번에 로딩 (N+1 아님)
+            assertSqlCount(1);
+        }
+    }
+
+    @Test
+    public void findAllByIdsTest() {
+        Member member1 = new Member("member1", 10);
+        Member member2 = new Member("member2", 20);
+        Member member3 = new Member("member3", 30);
+        memberJpaRepository.save(member1);
+        memberJpaRepository.save(member2);
+        memberJpaRepository.save(member3);
+        em.flush();
+        em.clear();
+        Member managed = em.find(Member.class, member2.getId());
+
+        try (SqlCountScope ignored = resetSqlCount()) {
+            List<Member> result = memberJpaRepository.findAllByIds(
+                    List.of(member3.getId(), member1.getId(), member2.getId(), -1L, member1.getId()));
+
+            // 입력 순서, 없는 id 와 중복 id 제외, 영속성 컨텍스트에 있던 엔티티는 그대로
+            assertThat(result).extracting("username").containsExactly("member3", "member1", "member2");
+            assertThat(result.get(2)).isSameAs(managed);
+            assertSqlCount(1);
+        }
+    }
+
+    private void persistMembers() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+    }
+
 
 
 
@@ -0,0 +1,58 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class MemberReactiveRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MemberReactiveRepository memberReactiveRepository;
+
+    @Test
+    public void searchTest() {
+        // R2DBC 는 다른 커넥션이라 커밋된 데이터만 보임 -> 직접 커밋하고 끝나면 지움
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Team team = tx.execute(status -> {
+            Team teamR = new Team("teamReactive");
+            em.persist(teamR);
+            em.persist(new Member("reactive1", 10, teamR));
+            em.persist(new Member("reactive2", 35, teamR));
+            return teamR;
+        });
+
+        try {
+            MemberSearchCondition condition = new MemberSearchCondition();
+            condition.setTeamName("teamReactive");
+            condition.setAgeGoe(30);
+
+            List<MemberTeamDto> result = memberReactiveRepository.search(condition).collectList().block();
+
+            assertThat(result).extracting("username").containsExactly("reactive2");
+            assertThat(result).extracting("teamId").containsExactly(team.getId());
+        } finally {
+            tx.executeWithoutResult(status -> {
+                em.createQuery("delete from Member m where m.team.id = :teamId")
+                        .setParameter("teamId", team.getId())
+                        .executeUpdate();
+                em.remove(em.find(Team.class, team.getId()));
+            });
+        }
+    }
+}
@@ -11,11 +11,18 @@ import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
 import study.querydsl.entity.Team;
+import study.querydsl.monitoring.SqlAssertions.SqlCountScope;
+import study.querydsl.repository.support.KeysetCursor;
+import study.querydsl.repository.support.KeysetPage;
 
 import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.monitoring.SqlAssertions.*;
 
 @SpringBootTest
 @Transactional
@@ -70,6 +77,26 @@ class MemberRepositoryTest {
         assertThat(result).extracting("username").containsExactly("member3", "member4");
     }
 
+    @Test
+    public void searchSqlCountTest() {
+        Team teamB = new Team("teamB");
+        em.persist(teamB);
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+
+        // fetch join 없이 dto 로 뽑으므로 team 을 따로 조회하지 않고 쿼리 1번
+        try (SqlCountScope ignored = resetSqlCount()) {
+            List<MemberTeamDto> result = memberRepository.search(condition);
+            assertThat(result).extracting("username").containsExactly("member3", "member4");
+            assertSqlCount(1);
+        }
+    }
+
     @Test
     public void searchPageSimpleTest() {
         Team teamA = new Team("teamA");
@@ -95,6 +122,73 @@ class MemberRepositoryTest {
         assertThat(result.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
     }
 
+    @Test
+    public void searchPageComplexCountAfterSaveTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 1; i <= 4; i++) {
+            em.persist(new Member("member" + i, i * 10, teamA));
+        }
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        PageRequest pageRequest = PageRequest.of(0, 3);
+
+        assertThat(memberRepository.searchPageComplex(condition, pageRequest).getTotalElements()).isEqualTo(4);
+
+        // 저장하면 캐시된 count 가 무효화되어야 함
+        memberRepository.save(new Member("member5", 50, teamA));
+        assertThat(memberRepository.searchPageComplex(condition, pageRequest).getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    public void searchKeysetTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        Member member1 = new Member("member1", 10, teamA);
+        Member member2 = new Member("member2", 20, teamA);
+        Member member3 = new Member("member3", 30, teamB);
+        Member member4 = new Member("member4", 40, teamB);
+
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.persist(member4);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        KeysetPage<MemberTeamDto> first = memberRepository.searchKeyset(condition, null, 3);
+        assertThat(first.getContent()).extracting("username").containsExactly("member4", "member3", "member2");
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.isHasPrevious()).isFalse();
+
+        KeysetPage<MemberTeamDto> second = memberRepository.searchKeyset(condition, first.getNextCursor(), 3);
+        assertThat(second.getContent()).extracting("username").containsExactly("member1");
+        assertThat(second.isHasNext()).isFalse();
+
+        KeysetPage<MemberTeamDto> back = memberRepository.searchKeyset(condition, second.getPrevCursor(), 3);
+        assertThat(back.getContent()).extracting("username").containsExactly("member4", "member3", "member2");
+        assertThat(back.isHasPrevious()).isFalse();
+
+        // 더 앞이 없는 이전 페이지 -> 비어있어도 다시 앞으로 갈 수 있어야 함
+        KeysetPage<MemberTeamDto> empty = memberRepository.searchKeyset(condition,
+                KeysetCursor.prev(member4.getId()).encode(), 3);
+        assertThat(empty.getContent()).isEmpty();
+        assertThat(empty.isHasNext()).isTrue();
+        KeysetPage<MemberTeamDto> forward = memberRepository.searchKeyset(condition, empty.getNextCursor(), 3);
+        assertThat(forward.getContent()).extracting("username").containsExactly("member4", "member3", "member2");
+    }
+
+    @Test
+    public void invalidKeysetCursorTest() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor")).isInstanceOf(IllegalArgumentException.class);
+        String unknownDirection = Base64.getUrlEncoder().encodeToString("x:1".getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> KeysetCursor.decode(unknownDirection)).isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     public void querydslPredicateExecutorTest() {
 
@@ -0,0 +1,83 @@
+package study.querydsl.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class MemberSearchCacheTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberSearchCache memberSearchCache;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void hitAndInvalidateTest() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("cachedMember");
+        condition.setTeamName(""); // 정규화되면 같은 키
+
+        assertThat(memberSearchCache.search(condition)).isEmpty();
+        assertThat(memberSearchCache.search(condition.normalized())).isEmpty();
+
+        MemberSearchCache.KeyStats stats = memberSearchCache.getKeyStats().get(condition.normalized());
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+
+        // 캐시 hit 도 사용자 호출로 기록
+        Timer timer = meterRegistry.get("member.search")
+                .tags("operation", "cachedSearch", "shape", "username", "outcome", "success")
+                .timer();
+        assertThat(timer.count()).isGreaterThanOrEqualTo(2);
+
+        // 회원 저장 -> 캐시 무효화, 이 트랜잭션에서는 캐시를 거치지 않고 조회
+        em.persist(new Member("cachedMember", 10));
+        assertThat(memberSearchCache.search(condition)).extracting("username").containsExactly("cachedMember");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void callerCannotModifyCachedRowsTest() {
+        // 트랜잭션 안에서 저장하면 캐시를 안 거치므로 직접 커밋하고 끝나면 지움
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long id = tx.execute(status -> {
+            Member member = new Member("copiedMember", 10);
+            em.persist(member);
+            return member.getId();
+        });
+        try {
+            MemberSearchCondition condition = new MemberSearchCondition();
+            condition.setUsername("copiedMember");
+
+            List<MemberTeamDto> first = memberSearchCache.search(condition);
+            first.get(0).setUsername("changed");
+            assertThatThrownBy(first::clear).isInstanceOf(UnsupportedOperationException.class);
+
+            // 두번째는 캐시 hit - 앞에서 고친 값이 보이면 안 됨
+            assertThat(memberSearchCache.search(condition)).extracting("username").containsExactly("copiedMember");
+        } finally {
+            tx.executeWithoutResult(status -> em.remove(em.find(Member.class, id)));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class TeamRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void findByNameTest() throws InterruptedException {
+        // 쓰기 트랜잭션 안에서는 team 공간이 미리 무효화돼서 쿼리 캐시를 안 씀 -> 직접 커밋하고 끝나면 지움
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Team saved = tx.execute(status -> {
+            Team teamQ = new Team("teamQueryCache");
+            em.persist(teamQ);
+            return teamQ;
+        });
+        Thread.sleep(10); // 커밋 시각과 다음 세션 시작 시각이 같은 ms 면 캐시 결과를 오래된 것으로 봄
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        try {
+            tx.executeWithoutResult(status -> {
+                long queryPut = statistics.getQueryCachePutCount();
+                long queryHit = statistics.getQueryCacheHitCount();
+
+                List<Team> first = teamRepository.findByName("teamQueryCache");
+                em.clear(); // 두번째 조회가 영속성 컨텍스트가 아니라 2차 캐시에서 엔티티를 꺼내도록
+
+                long l2Hit = statistics.getSecondLevelCacheHitCount();
+                List<Team> second = teamRepository.findByName("teamQueryCache");
+
+                assertThat(first).extracting("id").containsExactly(saved.getId());
+                assertThat(second).extracting("id").containsExactly(saved.getId());
+                assertThat(statistics.getQueryCachePutCount() - queryPut).isEqualTo(1);
+                assertThat(statistics.getQueryCacheHitCount() - queryHit).isEqualTo(1);
+                assertThat(statistics.getSecondLevelCacheHitCount() - l2Hit).isEqualTo(1);
+            });
+        } finally {
+            tx.executeWithoutResult(status -> em.remove(em.find(Team.class, saved.getId())));
+        }
+    }
+
+    @Test
+    public void bulkUpdateEvictsTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.flush();
+        em.clear();
+
+        em.find(Team.class, teamA.getId());
+        em.clear();
+
+        //벌크 연산은 2차 캐시 리전을 비워야 함
+        new JPAQueryFactory(em)
+                .update(team)
+                .set(team.name, "teamRenamed")
+                .where(team.id.eq(teamA.getId()))
+                .execute();
+        em.clear();
+
+        assertThat(em.find(Team.class, teamA.getId()).getName()).isEqualTo("teamRenamed");
+        assertThat(teamRepository.findByName("teamRenamed")).extracting("id").contains(teamA.getId());
+    }
+}
@@ -0,0 +1,70 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchLoaderTest {
+
+    private final List<List<Integer>> batches = new ArrayList<>();
+
+    private BatchLoader<Integer, String> loader(int maxBatchSize) {
+        return new BatchLoader<>(keys -> {
+            batches.add(keys);
+            Map<Integer, String> values = new HashMap<>();
+            keys.stream().filter(k -> k > 0).forEach(k -> values.put(k, "v" + k));
+            return values;
+        }, maxBatchSize);
+    }
+
+    @Test
+    public void coalesceUntilJoin() {
+        BatchLoader<Integer, String> loader = loader(100);
+
+        CompletableFuture<String> one = loader.load(1);
+        CompletableFuture<String> two = loader.load(2);
+        CompletableFuture<String> missing = loader.load(-1);
+        assertThat(batches).isEmpty();
+
+        assertThat(one.join()).isEqualTo("v1");
+        assertThat(two.join()).isEqualTo("v2");
+        assertThat(missing.join()).isNull();
+        assertThat(batches).containsExactly(List.of(1, 2, -1));
+
+        // 캐시된 키는 다시 조회하지 않음
+        assertThat(loader.load(1)).isSameAs(one);
+        assertThat(loader.loadMany(List.of(2, 3, 1)).join()).containsExactly("v2", "v3", "v1");
+        assertThat(batches).containsExactly(List.of(1, 2, -1), List.of(3));
+    }
+
+    @Test
+    public void joinDependentStages() {
+        BatchLoader<Integer, String> loader = loader(100);
+
+        // thenApply / thenCompose 로 만든 future 를 join 해도 dispatch 됨
+        CompletableFuture<Integer> length = loader.load(1).thenApply(String::length);
+        CompletableFuture<String> composed = loader.load(2)
+                .thenCompose(v -> loader.load(Integer.parseInt(v.substring(1)) + 1));
+
+        assertThat(length.join()).isEqualTo(2);
+        assertThat(composed.join()).isEqualTo("v3");
+        assertThat(batches).containsExactly(List.of(1, 2), List.of(3));
+    }
+
+    @Test
+    public void dispatchAtMaxBatchSize() {
+        BatchLoader<Integer, String> loader = loader(2);
+
+        loader.load(1);
+        CompletableFuture<String> two = loader.load(2);
+
+        assertThat(two).isDone();
+        assertThat(loader.getBatchCount()).isEqualTo(1);
+    }
+}
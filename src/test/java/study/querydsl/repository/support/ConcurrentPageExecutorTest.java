@@ -0,0 +1,94 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ConcurrentPageExecutorTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<Runnable> queued = new ArrayList<>(); // executor 에 넘어간 count
+    private final AtomicInteger countCalls = new AtomicInteger();
+
+    private final LongSupplier count = () -> {
+        countCalls.incrementAndGet();
+        return 100L;
+    };
+
+    private ConcurrentPageExecutor executor(Executor executor) {
+        return new ConcurrentPageExecutor(true, executor, transactionManager);
+    }
+
+    @Test
+    public void countSkippedOnFirstPage() {
+        // 첫 페이지인데 size 보다 적게 나오면 content 로 total 결정 -> count 를 시작조차 안함
+        Page<String> page = executor(queued::add).getPage(() -> List.of("a", "b"), PageRequest.of(0, 3), count);
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(queued).isEmpty();
+        assertThat(countCalls).hasValue(0);
+    }
+
+    @Test
+    public void countSkippedOnLastPage() {
+        Page<String> page = executor(queued::add).getPage(() -> List.of("a", "b"), PageRequest.of(1, 3), count);
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(queued).isEmpty();
+        assertThat(countCalls).hasValue(0);
+    }
+
+    @Test
+    public void countUsedOnFullPage() {
+        Page<String> page = executor(Runnable::run).getPage(() -> List.of("a", "b", "c"), PageRequest.of(1, 3), count);
+
+        assertThat(page.getTotalElements()).isEqualTo(100);
+        assertThat(countCalls).hasValue(1);
+    }
+
+    @Test
+    public void rejectedRunsSequentially() {
+        Executor rejecting = task -> {
+            throw new RejectedExecutionException("full");
+        };
+
+        Page<String> page = executor(rejecting).getPage(() -> List.of("a", "b", "c"), PageRequest.of(0, 3), count);
+
+        assertThat(page.getTotalElements()).isEqualTo(100);
+        assertThat(countCalls).hasValue(1);
+    }
+
+    @Test
+    public void countErrorPropagated() {
+        LongSupplier failing = () -> {
+            throw new IllegalStateException("count failed");
+        };
+
+        assertThatThrownBy(() -> executor(Runnable::run)
+                .getPage(() -> List.of("a", "b", "c"), PageRequest.of(0, 3), failing))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("count failed");
+    }
+
+    @Test
+    public void contentErrorSkipsCount() {
+        assertThatThrownBy(() -> executor(queued::add).getPage(() -> {
+            throw new IllegalStateException("content failed");
+        }, PageRequest.of(0, 3), count)).hasMessage("content failed");
+
+        assertThat(queued).isEmpty();
+        assertThat(countCalls).hasValue(0);
+    }
+}
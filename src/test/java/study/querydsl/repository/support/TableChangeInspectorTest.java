@@ -0,0 +1,17 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TableChangeInspectorTest {
+
+    @Test
+    public void changedTable() {
+        assertThat(TableChangeInspector.changedTable("insert into member (age, team_id, username, member_id) values (?, ?, ?, ?)"))
+                .isEqualTo("member");
+        assertThat(TableChangeInspector.changedTable("update member set age=age+1 where age<?")).isEqualTo("member");
+        assertThat(TableChangeInspector.changedTable("delete from public.team where id=?")).isEqualTo("team");
+        assertThat(TableChangeInspector.changedTable("select member0_.member_id as member_i1_1_ from member member0_")).isNull();
+    }
+}
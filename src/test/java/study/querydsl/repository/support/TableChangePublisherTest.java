@@ -0,0 +1,57 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TableChangePublisherTest {
+
+    private final List<String> notified = new ArrayList<>();
+    private final TableChangePublisher publisher = new TableChangePublisher(
+            new StaticListableBeanFactory(Map.of("listener", (TableChangeListener) notified::add))
+                    .getBeanProvider(TableChangeListener.class));
+
+    @AfterEach
+    public void clear() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void withoutTransaction() {
+        publisher.publish("member");
+        publisher.publish("member");
+
+        assertThat(notified).containsExactly("member", "member");
+        assertThat(publisher.hasPendingChanges()).isFalse();
+    }
+
+    @Test
+    public void oncePerTableInTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        // 같은 트랜잭션에서 같은 테이블은 처음 한번만
+        publisher.publish("member");
+        publisher.publish("member");
+        publisher.publish("team");
+        publisher.publish("member");
+        assertThat(notified).containsExactly("member", "team");
+        assertThat(publisher.hasPendingChanges()).isTrue();
+
+        // 트랜잭션이 끝나면 바뀐 테이블마다 한번 더
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(notified).containsExactlyInAnyOrder("member", "team", "member", "team");
+        assertThat(publisher.hasPendingChanges()).isFalse();
+    }
+}
@@ -0,0 +1,124 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.sql.SMember;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TargetedBulkExecutorTest {
+
+    private static final SMember member = SMember.member;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    TargetedBulkExecutor bulkExecutor;
+
+    @Test
+    public void updateEvictsOnlyAffectedTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        Member member1 = new Member("member1", 10, teamA);
+        Member member2 = new Member("member2", 20, teamA);
+        Member member3 = new Member("member3", 30, teamA);
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+
+        long count = bulkExecutor.update(Member.class, member, member.memberId, member.age.lt(25),
+                clause -> clause.set(member.username, "비회원"));
+
+        assertThat(count).isEqualTo(2);
+        //영향받은 엔티티만 영속성 컨텍스트에서 빠짐
+        assertThat(em.contains(member1)).isFalse();
+        assertThat(em.contains(member2)).isFalse();
+        assertThat(em.contains(member3)).isTrue();
+        assertThat(em.contains(teamA)).isTrue();
+        //다시 조회하면 DB 의 값
+        assertThat(em.find(Member.class, member1.getId()).getUsername()).isEqualTo("비회원");
+        assertThat(em.find(Member.class, member3.getId())).isSameAs(member3);
+    }
+
+    @Test
+    public void updateKeepsPredicateTest() {
+        Member member1 = new Member("member1", 10);
+        Member member2 = new Member("member2", 20);
+        em.persist(member1);
+        em.persist(member2);
+
+        // id 조회 후 실행 전에 member2 가 조건에서 빠진 경우 (다른 트랜잭션의 변경 흉내)
+        long count = bulkExecutor.update(Member.class, member, member.memberId, member.age.lt(25), clause -> {
+            em.createQuery("update Member m set m.age = 40 where m.id = :id")
+                    .setParameter("id", member2.getId())
+                    .executeUpdate();
+            clause.set(member.username, "비회원");
+        });
+
+        assertThat(count).isEqualTo(1);
+        assertThat(em.find(Member.class, member1.getId()).getUsername()).isEqualTo("비회원");
+        assertThat(em.find(Member.class, member2.getId()).getUsername()).isEqualTo("member2");
+    }
+
+    @Test
+    public void deleteEvictsOnlyAffectedTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        Member member1 = new Member("member1", 10, teamA);
+        Member member2 = new Member("member2", 20, teamA);
+        em.persist(member1);
+        em.persist(member2);
+
+        long count = bulkExecutor.delete(Member.class, member, member.memberId, member.memberId.eq(member1.getId()));
+
+        assertThat(count).isEqualTo(1);
+        assertThat(em.contains(member1)).isFalse();
+        assertThat(em.contains(member2)).isTrue();
+        assertThat(em.find(Member.class, member1.getId())).isNull();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void keepsUnrelatedCacheEntriesTest() {
+        // 2차 캐시에는 커밋된 엔티티만 들어가므로 직접 커밋하고 끝나면 지움
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<Long> ids = tx.execute(status -> {
+            Member young = new Member("bulkYoung", 10);
+            Member old = new Member("bulkOld", 30);
+            em.persist(young);
+            em.persist(old);
+            return List.of(young.getId(), old.getId());
+        });
+
+        Cache cache = em.getEntityManagerFactory().getCache();
+        try {
+            assertThat(cache.contains(Member.class, ids.get(1))).isTrue();
+
+            tx.executeWithoutResult(status -> bulkExecutor.update(Member.class, member, member.memberId,
+                    member.username.eq("bulkYoung"), clause -> clause.set(member.age, 11)));
+
+            // 바뀐 회원만 빠지고 관계없는 회원은 캐시에 그대로 (HQL 벌크였으면 리전 전체가 비워짐)
+            assertThat(cache.contains(Member.class, ids.get(0))).isFalse();
+            assertThat(cache.contains(Member.class, ids.get(1))).isTrue();
+        } finally {
+            tx.executeWithoutResult(status -> ids.forEach(id -> em.remove(em.find(Member.class, id))));
+        }
+    }
+}
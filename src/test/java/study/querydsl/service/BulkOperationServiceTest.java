@@ -0,0 +1,76 @@
+package study.querydsl.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberRepository;
+
+import javax.persistence.PersistenceException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+
+// 청크마다 별도 트랜잭션으로 커밋되므로 테스트 트랜잭션(롤백) 없이 실행하고 직접 정리
+@SpringBootTest
+class BulkOperationServiceTest {
+
+    @Autowired
+    BulkOperationService bulkOperationService;
+    @Autowired
+    MemberRepository memberRepository;
+
+    @AfterEach
+    public void cleanUp() {
+        bulkOperationService.delete(member, member.id, member.username.startsWith("bulkOp"));
+    }
+
+    @Test
+    public void chunkedUpdateAndDelete() {
+        memberRepository.saveAll(IntStream.range(0, 25)
+                .mapToObj(i -> new Member("bulkOp" + i, i))
+                .collect(Collectors.toList()));
+
+        // member.age.add(1) 을 id 범위 10 개씩, 2 개 스레드로
+        long updated = bulkOperationService.update(member, member.id, member.username.startsWith("bulkOp"),
+                clause -> clause.set(member.age, member.age.add(1)), BulkOptions.of(10, 2, 0));
+
+        assertThat(updated).isEqualTo(25);
+        assertThat(memberRepository.findByUsername("bulkOp0").get(0).getAge()).isEqualTo(1);
+
+        long deleted = bulkOperationService.delete(member, member.id,
+                member.username.startsWith("bulkOp").and(member.age.gt(20)), BulkOptions.of(7, 1, 100));
+
+        assertThat(deleted).isEqualTo(5); // 나이 21~25
+        assertThat(memberRepository.findByUsername("bulkOp24")).isEmpty();
+    }
+
+    @Test
+    public void parallelismAbovePoolSize() {
+        memberRepository.saveAll(IntStream.range(0, 25)
+                .mapToObj(i -> new Member("bulkOp" + i, i))
+                .collect(Collectors.toList()));
+
+        // bulkExecutor 풀/큐(max-parallelism=4) 보다 큰 parallelism -> 4 로 줄여서 실행, 거절되지 않음
+        long updated = bulkOperationService.update(member, member.id, member.username.startsWith("bulkOp"),
+                clause -> clause.set(member.age, member.age.add(1)), BulkOptions.of(1, 10, 0));
+
+        assertThat(updated).isEqualTo(25);
+    }
+
+    @Test
+    public void failingChunk() {
+        memberRepository.saveAll(IntStream.range(0, 25)
+                .mapToObj(i -> new Member("bulkOp" + i, i))
+                .collect(Collectors.toList()));
+
+        // age = 5 인 row 가 있는 청크만 0 으로 나누기 -> 호출한 쪽은 풀 거절이 아니라 청크 예외를 받음
+        assertThatThrownBy(() -> bulkOperationService.update(member, member.id, member.username.startsWith("bulkOp"),
+                clause -> clause.set(member.age, member.age.divide(member.age.subtract(5))), BulkOptions.of(5, 2, 0)))
+                .isInstanceOf(PersistenceException.class);
+    }
+}
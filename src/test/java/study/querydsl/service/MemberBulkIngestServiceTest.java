@@ -0,0 +1,42 @@
+package study.querydsl.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberIngestRow;
+import study.querydsl.dto.ThroughputReport;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberBulkIngestServiceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberBulkIngestService memberBulkIngestService;
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    public void saveAll() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        ThroughputReport report = memberBulkIngestService.saveAll(IntStream.range(0, 250)
+                .mapToObj(i -> new MemberIngestRow("member" + i, i, teamA.getId())));
+
+        assertThat(report.getRows()).isEqualTo(250);
+        assertThat(memberRepository.count()).isEqualTo(250);
+        assertThat(em.contains(teamA)).isFalse(); // batch 마다 clear 되었음
+        assertThat(teamA.getMembers()).isEmpty(); // detach 된 팀에 회원이 쌓이지 않음
+        assertThat(em.find(Team.class, teamA.getId()).getMembers()).hasSize(250);
+    }
+}
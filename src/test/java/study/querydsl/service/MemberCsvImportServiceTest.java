@@ -0,0 +1,63 @@
+package study.querydsl.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.ThroughputReport;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberCsvImportServiceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberCsvImportService memberCsvImportService;
+
+    @Test
+    public void importCsvTest(@TempDir Path dir) throws IOException {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        Path file = dir.resolve("members.csv");
+        Files.write(file, List.of(
+                "username,age,teamName",
+                "import1,10,teamA",
+                "import2,20,teamB",
+                "import3,30,teamB",
+                "import4,40,"), StandardCharsets.UTF_8);
+
+        ThroughputReport report = memberCsvImportService.importCsv(file);
+        em.clear();
+
+        assertThat(report.getRows()).isEqualTo(4);
+        List<Member> imported = em.createQuery(
+                        "select m from Member m left join fetch m.team where m.username like 'import%' order by m.username",
+                        Member.class)
+                .getResultList();
+        assertThat(imported).extracting("age").containsExactly(10, 20, 30, 40);
+        assertThat(imported.get(0).getTeam().getId()).isEqualTo(teamA.getId()); // 있는 팀은 그대로 사용
+        assertThat(imported.get(1).getTeam().getName()).isEqualTo("teamB");
+        assertThat(imported.get(2).getTeam()).isSameAs(imported.get(1).getTeam());
+        assertThat(imported.get(3).getTeam()).isNull();
+
+        // import 후에도 hibernate 가 만드는 id 와 겹치지 않음
+        Member member = new Member("member1", 50);
+        em.persist(member);
+        em.flush();
+        assertThat(imported).extracting("id").doesNotContain(member.getId());
+    }
+}
@@ -0,0 +1,62 @@
+package study.querydsl.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.ThroughputReport;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberExportServiceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberExportService memberExportService;
+
+    @Test
+    public void writeCsvGzipTest() throws IOException {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        Member member1 = new Member("member1", 10, teamA);
+        Member member2 = new Member("kim, \"junior\"", 20, teamA);
+        em.persist(member1);
+        em.persist(member2);
+        em.flush();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ThroughputReport report = memberExportService.writeCsvGzip(condition, out);
+
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())), StandardCharsets.UTF_8))) {
+            lines = reader.lines().collect(Collectors.toList());
+        }
+
+        assertThat(report.getRows()).isEqualTo(2);
+        assertThat(lines).containsExactlyInAnyOrder(
+                "memberId,username,age,teamId,teamName",
+                member1.getId() + ",member1,10," + teamA.getId() + ",teamA",
+                member2.getId() + ",\"kim, \"\"junior\"\"\",20," + teamA.getId() + ",teamA");
+        assertThat(lines.get(0)).isEqualTo("memberId,username,age,teamId,teamName");
+    }
+}
@@ -0,0 +1,62 @@
+package study.querydsl.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class MemberStreamServiceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    public void writeNdjsonTest() throws IOException {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 1; i <= 3; i++) {
+            em.persist(new Member("member" + i, i * 10, teamA));
+        }
+        em.flush();
+
+        // clearInterval 1 -> 매 row 마다 flush + clear 해도 끝까지 읽혀야 함
+        MemberStreamService service = new MemberStreamService(memberJpaRepository, em, objectMapper, 500, 1);
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = service.writeNdjson(condition, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+        assertThat(lines).allMatch(line -> line.contains("\"teamName\":\"teamA\""));
+        assertThat(String.join("\n", lines)).contains("\"username\":\"member1\"", "\"username\":\"member3\"");
+    }
+
+    @Test
+    public void rejectNonPositiveClearIntervalTest() {
+        assertThatThrownBy(() -> new MemberStreamService(memberJpaRepository, em, objectMapper, 500, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("clear-interval");
+    }
+}
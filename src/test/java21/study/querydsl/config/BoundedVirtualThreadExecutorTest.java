@@ -0,0 +1,68 @@
+package study.querydsl.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// ./gradlew test -PvirtualThreads 로만 실행 (java 21)
+class BoundedVirtualThreadExecutorTest {
+
+    @Test
+    public void admissionLimit() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        try (BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-", 1, 1, false)) {
+            // 실행 1 + 대기 1 까지만 받음
+            executor.execute(() -> await(release, done));
+            executor.execute(() -> await(release, done));
+
+            assertThatThrownBy(() -> executor.execute(() -> {
+            })).isInstanceOf(RejectedExecutionException.class).hasMessageContaining("full");
+
+            release.countDown();
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    public void callerRuns() {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        try (BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-", 1, 0, true)) {
+            executor.execute(() -> await(release, new CountDownLatch(1)));
+
+            // 꽉 찼으면 호출한 스레드에서 실행
+            executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+            assertThat(ranOn.get()).isSameAs(Thread.currentThread());
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void releaseAdmissionOnRejection() {
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-", 1, 0, false);
+        executor.close();
+
+        // 종료된 executor 가 거절해도 자리는 돌려줌 -> 두번째도 "full" 이 아니라 종료 때문에 거절
+        assertThatThrownBy(() -> executor.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(() -> executor.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class).satisfies(e -> assertThat(String.valueOf(e.getMessage())).doesNotContain("full"));
+    }
+
+    private static void await(CountDownLatch release, CountDownLatch done) {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        done.countDown();
+    }
+}